@@ -0,0 +1,26 @@
+package com.ems.ems_backend.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One benchmark run: the dataset it ran against and the result per operation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BenchmarkReport {
+
+    private LocalDateTime startedAt;
+    private String database;
+    private int users;
+    private int notificationsPerUser;
+    private long seed;
+    private List<BenchmarkResult> results;
+}
@@ -0,0 +1,59 @@
+package com.ems.ems_backend.benchmark;
+
+import java.util.Arrays;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency and throughput of one benchmarked operation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BenchmarkResult {
+
+    private String operation;
+    private int concurrency;
+    private int operations;
+    private int errors;
+    private double p50Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private double meanMillis;
+    private double throughputPerSecond;
+
+    /**
+     * Build from per-operation samples in nanoseconds; negative samples mark failed operations
+     */
+    public static BenchmarkResult of(String operation, int concurrency, long[] samples, long wallNanos) {
+        long[] ok = Arrays.stream(samples).filter(s -> s >= 0).sorted().toArray();
+        return BenchmarkResult.builder()
+                .operation(operation)
+                .concurrency(concurrency)
+                .operations(ok.length)
+                .errors(samples.length - ok.length)
+                .p50Millis(millis(percentile(ok, 0.50)))
+                .p99Millis(millis(percentile(ok, 0.99)))
+                .maxMillis(ok.length == 0 ? 0 : millis(ok[ok.length - 1]))
+                .meanMillis(ok.length == 0 ? 0 : millis((long) Arrays.stream(ok).average().orElse(0)))
+                .throughputPerSecond(wallNanos <= 0 ? 0 : ok.length * 1_000_000_000.0 / wallNanos)
+                .build();
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(rank, sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
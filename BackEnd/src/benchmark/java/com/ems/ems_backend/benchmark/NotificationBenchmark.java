@@ -0,0 +1,36 @@
+package com.ems.ems_backend.benchmark;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ems.ems_backend.EmsBackendApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point for {@code ./gradlew benchmark}: starts the application with the {@code benchmark}
+ * profile (embedded H2 in MySQL mode unless a datasource is passed), runs
+ * {@link NotificationBenchmarkRunner} and exits with a non-zero status if it fails.
+ */
+@Slf4j
+public final class NotificationBenchmark {
+
+    private NotificationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmsBackendApplication.class)
+                .profiles("benchmark")
+                .run(args);
+        int status = 0;
+        try {
+            context.getBean(NotificationBenchmarkRunner.class).run();
+        } catch (Exception e) {
+            log.error("Notification benchmark failed", e);
+            status = 1;
+        }
+        int exitCode = status;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
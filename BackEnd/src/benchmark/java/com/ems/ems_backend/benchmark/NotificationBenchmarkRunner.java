@@ -0,0 +1,288 @@
+package com.ems.ems_backend.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.dto.NotificationCreateRequest;
+import com.ems.ems_backend.dto.NotificationTemplate;
+import com.ems.ems_backend.dto.RetentionResult;
+import com.ems.ems_backend.model.Notification;
+import com.ems.ems_backend.service.NotificationFanoutService;
+import com.ems.ems_backend.service.NotificationRetentionService;
+import com.ems.ems_backend.service.NotificationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds a dataset and drives the notification services at a fixed concurrency. Every operation
+ * gets a warm-up pass, then a measured pass whose per-call latencies give p50/p99; throughput
+ * is measured calls over wall time. Random choices derive from {@code benchmark.seed}, so two
+ * runs with the same settings issue the same calls.
+ */
+@Component
+@Profile("benchmark")
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationBenchmarkRunner {
+
+    private static final String USER_PREFIX = "bench-user-";
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final NotificationService notificationService;
+    private final NotificationFanoutService notificationFanoutService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${benchmark.users:1000}")
+    private int users;
+
+    @Value("${benchmark.notifications-per-user:50}")
+    private int notificationsPerUser;
+
+    @Value("${benchmark.concurrency:8}")
+    private int concurrency;
+
+    @Value("${benchmark.iterations:2000}")
+    private int iterations;
+
+    @Value("${benchmark.warmup-iterations:200}")
+    private int warmupIterations;
+
+    @Value("${benchmark.broadcast-recipients:500}")
+    private int broadcastRecipients;
+
+    @Value("${benchmark.broadcast-iterations:20}")
+    private int broadcastIterations;
+
+    @Value("${benchmark.page-size:20}")
+    private int pageSize;
+
+    @Value("${benchmark.operations:create,broadcast,summary,inbox-page,cleanup}")
+    private List<String> operations;
+
+    @Value("${benchmark.seed:42}")
+    private long seed;
+
+    @Value("${benchmark.report-dir:build/reports/benchmark}")
+    private String reportDir;
+
+    private List<Long> userIds = List.of();
+
+    public BenchmarkReport run() throws IOException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        seed(startedAt);
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (String operation : operations) {
+            BenchmarkResult result = switch (operation.trim()) {
+                case "create" -> measure("create", iterations, concurrency, this::create);
+                case "broadcast" -> measure("broadcast", broadcastIterations, 1, this::broadcast);
+                case "summary" -> measure("summary", iterations, concurrency,
+                        (random, i) -> notificationService.getNotificationSummary(randomUser(random)));
+                case "inbox-page" -> measure("inbox-page", iterations, concurrency,
+                        (random, i) -> notificationService.getUserNotifications(randomUser(random), null, pageSize));
+                case "cleanup" -> cleanup();
+                default -> throw new IllegalArgumentException("Unknown benchmark operation: " + operation);
+            };
+            results.add(result);
+        }
+
+        BenchmarkReport report = BenchmarkReport.builder()
+                .startedAt(startedAt)
+                .database(databaseName())
+                .users(users)
+                .notificationsPerUser(notificationsPerUser)
+                .seed(seed)
+                .results(results)
+                .build();
+        print(report);
+        write(report);
+        return report;
+    }
+
+    private void seed(LocalDateTime now) {
+        long start = System.nanoTime();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[] {USER_PREFIX + i, USER_PREFIX + i + "@example.com", nowTs, nowTs});
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO users (username, email, password, role, account_non_expired, account_non_locked,
+                credentials_non_expired, enabled, created_at, updated_at)
+            VALUES (?, ?, 'x', 'EMPLOYEE', true, true, true, true, ?, ?)
+            """, userRows);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE ? ORDER BY id", Long.class,
+                USER_PREFIX + "%");
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Notification.NotificationType[] types = Notification.NotificationType.values();
+        Notification.NotificationPriority[] priorities = Notification.NotificationPriority.values();
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (Long recipientId : userIds) {
+            for (int n = 0; n < notificationsPerUser; n++) {
+                boolean read = random.nextBoolean();
+                // About a fifth of read rows are old enough for the cleanup operation
+                LocalDateTime readAt = read ? now.minusDays(random.nextInt(5) == 0 ? 45 : 1) : null;
+                rows.add(new Object[] {
+                    recipientId, "Seeded " + n, "Seeded benchmark notification body",
+                    types[random.nextInt(types.length)].name(), priorities[random.nextInt(priorities.length)].name(),
+                    read, Timestamp.valueOf(now.minusMinutes(random.nextInt(60 * 24 * 90))),
+                    readAt != null ? Timestamp.valueOf(readAt) : null
+                });
+                if (rows.size() == 1000) {
+                    insertNotifications(rows);
+                    rows.clear();
+                }
+            }
+        }
+        insertNotifications(rows);
+        log.info("Seeded {} users and {} notifications in {} ms", userIds.size(),
+                (long) userIds.size() * notificationsPerUser, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void insertNotifications(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO notifications (recipient_id, title, message, type, priority, is_read, created_at, read_at,
+                group_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 1)
+            """, rows);
+    }
+
+    private void create(SplittableRandom random, int i) {
+        NotificationCreateRequest request = new NotificationCreateRequest();
+        request.setRecipientId(randomUser(random));
+        request.setTitle("Benchmark " + i);
+        request.setMessage("Created by the notification benchmark");
+        request.setType(Notification.NotificationType.INFO);
+        request.setPriority(Notification.NotificationPriority.NORMAL);
+        notificationService.createNotification(request);
+    }
+
+    // Measures the fan-out the outbox worker runs; sendBulkNotifications itself only enqueues
+    private void broadcast(SplittableRandom random, int i) {
+        int from = random.nextInt(Math.max(1, userIds.size() - broadcastRecipients + 1));
+        List<Long> recipients = userIds.subList(from, Math.min(userIds.size(), from + broadcastRecipients));
+        notificationFanoutService.fanout(recipients, NotificationTemplate.system("Benchmark broadcast " + i,
+                "Broadcast by the notification benchmark", Notification.NotificationType.SYSTEM,
+                Notification.NotificationPriority.NORMAL));
+    }
+
+    // One retention pass; throughput is rows deleted per second
+    private BenchmarkResult cleanup() {
+        RetentionResult retention = notificationRetentionService.purgeReadBefore(LocalDateTime.now().minusDays(30));
+        long elapsedNanos = retention.getElapsedMillis() * 1_000_000;
+        BenchmarkResult result = BenchmarkResult.of("cleanup", 1, new long[] {elapsedNanos}, elapsedNanos);
+        result.setOperations((int) retention.getDeleted());
+        result.setThroughputPerSecond(retention.getRowsPerSecond());
+        return result;
+    }
+
+    private BenchmarkResult measure(String name, int count, int threads, BiConsumer<SplittableRandom, Integer> operation) {
+        execute(name, Math.min(warmupIterations, count), threads, operation, new long[Math.min(warmupIterations, count)]);
+        long[] samples = new long[count];
+        long wallNanos = execute(name, count, threads, operation, samples);
+        BenchmarkResult result = BenchmarkResult.of(name, threads, samples, wallNanos);
+        log.info("{}: {} ops, p50 {} ms, p99 {} ms, {} ops/sec", name, result.getOperations(),
+                result.getP50Millis(), result.getP99Millis(), String.format("%.1f", result.getThroughputPerSecond()));
+        return result;
+    }
+
+    private long execute(String name, int count, int threads, BiConsumer<SplittableRandom, Integer> operation,
+            long[] samples) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        AtomicInteger next = new AtomicInteger();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < count) {
+                        SplittableRandom random = new SplittableRandom(seed * 31 + i);
+                        long begin = System.nanoTime();
+                        try {
+                            operation.accept(random, i);
+                            samples[i] = System.nanoTime() - begin;
+                        } catch (RuntimeException e) {
+                            samples[i] = -1;
+                            log.debug("{} call {} failed", name, i, e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Benchmark interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Benchmark worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Long randomUser(SplittableRandom random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    private String databaseName() {
+        try (var connection = dataSource.getConnection()) {
+            var meta = connection.getMetaData();
+            return meta.getDatabaseProductName() + " " + meta.getDatabaseProductVersion();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    private void print(BenchmarkReport report) {
+        StringBuilder table = new StringBuilder(String.format("%n%-12s %6s %8s %6s %10s %10s %10s %12s%n",
+                "operation", "conc", "ops", "errors", "p50 ms", "p99 ms", "max ms", "ops/sec"));
+        for (BenchmarkResult r : report.getResults()) {
+            table.append(String.format("%-12s %6d %8d %6d %10.3f %10.3f %10.3f %12.1f%n", r.getOperation(),
+                    r.getConcurrency(), r.getOperations(), r.getErrors(), r.getP50Millis(), r.getP99Millis(),
+                    r.getMaxMillis(), r.getThroughputPerSecond()));
+        }
+        log.info("Notification benchmark on {} ({} users x {} notifications):{}", report.getDatabase(),
+                report.getUsers(), report.getNotificationsPerUser(), table);
+    }
+
+    private void write(BenchmarkReport report) throws IOException {
+        File dir = new File(reportDir);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create benchmark report directory " + dir.getAbsolutePath());
+        }
+        File file = new File(dir, "notification-benchmark-" + report.getStartedAt().format(FILE_STAMP) + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        log.info("Benchmark report written to {}", file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,63 @@
+package com.ems.ems_backend.batch;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.model.Department;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps an import row to a {@link Department}. Columns: name, description, budgetAllocated, status.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentImportProcessor implements ItemProcessor<ImportRow, Department> {
+
+    private final Validator validator;
+
+    @Override
+    public Department process(ImportRow row) {
+        if (row.isBlank()) {
+            return null;
+        }
+        String name = row.get("name");
+        if (name == null) {
+            throw new ImportRowException(row.line(), "name is required");
+        }
+        Department department = new Department();
+        department.setName(name);
+        department.setDescription(row.get("description"));
+        String budget = row.get("budgetallocated");
+        try {
+            department.setBudgetAllocated(budget != null ? Double.valueOf(budget.replace(",", "")) : 0.0);
+        } catch (NumberFormatException e) {
+            throw new ImportRowException(row.line(), "invalid budgetAllocated '" + budget + "'");
+        }
+        String status = row.get("status");
+        try {
+            department.setStatus(status != null ? Department.Status.valueOf(status.toUpperCase(Locale.ROOT).replace(' ', '_'))
+                    : Department.Status.ACTIVE);
+        } catch (IllegalArgumentException e) {
+            throw new ImportRowException(row.line(), "invalid status '" + status + "'");
+        }
+        department.setCreatedAt(LocalDateTime.now());
+        department.setUpdatedAt(department.getCreatedAt());
+
+        Set<ConstraintViolation<Department>> violations = validator.validate(department);
+        if (!violations.isEmpty()) {
+            throw new ImportRowException(row.line(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return department;
+    }
+}
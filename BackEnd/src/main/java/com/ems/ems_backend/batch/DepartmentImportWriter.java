@@ -0,0 +1,48 @@
+package com.ems.ems_backend.batch;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.event.DepartmentChangedEvent;
+import com.ems.ems_backend.model.Department;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Upserts departments by their unique name in one JDBC batch per chunk; an existing department
+ * keeps its id, spend and head, and takes the file's description, budget and status.
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentImportWriter implements ItemWriter<Department> {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO departments (name, description, budget_allocated, budget_spent, status, created_at, updated_at)
+        VALUES (?, ?, ?, 0, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE description = VALUES(description), budget_allocated = VALUES(budget_allocated),
+            status = VALUES(status), updated_at = VALUES(updated_at)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void write(Chunk<? extends Department> chunk) {
+        List<? extends Department> departments = chunk.getItems();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, departments, departments.size(), (ps, d) -> {
+            ps.setString(1, d.getName());
+            ps.setString(2, d.getDescription());
+            ps.setDouble(3, d.getBudgetAllocated());
+            ps.setString(4, d.getStatus().name());
+            ps.setTimestamp(5, Timestamp.valueOf(d.getCreatedAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(d.getUpdatedAt()));
+        });
+        publisher.publishEvent(new DepartmentChangedEvent(null));
+    }
+}
@@ -0,0 +1,122 @@
+package com.ems.ems_backend.batch;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.model.Department;
+import com.ems.ems_backend.model.Employee;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Maps an import row to a new {@link Employee} and validates it. Runs on the import's
+ * validation threads, so it only reads shared state.
+ * <p>
+ * Columns (header names are case- and punctuation-insensitive): firstName, lastName, employeeId,
+ * email, department, position, phone, address, hireDate, birthDate, salary, bonus,
+ * annualVacationDays, status, username. Dates are ISO (yyyy-MM-dd) or Excel serial numbers;
+ * username links an existing user account.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeImportProcessor implements ItemProcessor<ImportRow, ImportedEmployee> {
+
+    // Day 0 of Excel's 1900 date system, accounting for its fictitious 29 February 1900
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private final ImportLookups lookups;
+    private final Validator validator;
+
+    @Override
+    public ImportedEmployee process(ImportRow row) {
+        if (row.isBlank()) {
+            return null;
+        }
+        Employee employee = new Employee();
+        employee.setFirstName(row.get("firstname"));
+        employee.setLastName(row.get("lastname"));
+        employee.setEmployeeId(row.get("employeeid"));
+        employee.setEmail(row.get("email"));
+        employee.setPosition(row.get("position"));
+        employee.setPhone(row.get("phone"));
+        employee.setAddress(row.get("address"));
+        employee.setHireDate(date(row, "hiredate"));
+        employee.setBirthDate(date(row, "birthdate"));
+        employee.setSalary(number(row, "salary"));
+        employee.setBonus(number(row, "bonus"));
+        Double vacationDays = number(row, "annualvacationdays");
+        employee.setAnnualVacationDays(vacationDays != null ? vacationDays.intValue() : null);
+        employee.setStatus(status(row));
+        employee.setCreatedAt(LocalDateTime.now());
+
+        String departmentName = row.get("department");
+        Department department = lookups.department(departmentName);
+        employee.setDepartmentEntity(department);
+        employee.setDepartment(department != null ? department.getName() : departmentName);
+
+        String username = row.get("username");
+        if (username != null) {
+            employee.setUser(lookups.user(username));
+            if (employee.getUser() == null) {
+                throw new ImportRowException(row.line(), "unknown user '" + username + "'");
+            }
+        }
+
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            throw new ImportRowException(row.line(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new ImportedEmployee(row.line(), employee);
+    }
+
+    private static LocalDate date(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value.chars().allMatch(c -> Character.isDigit(c) || c == '.')) {
+                return EXCEL_EPOCH.plusDays((long) Double.parseDouble(value));
+            }
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ImportRowException(row.line(), "invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static Double number(ImportRow row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new ImportRowException(row.line(), "invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static Employee.Status status(ImportRow row) {
+        String value = row.get("status");
+        if (value == null) {
+            return Employee.Status.ACTIVE;
+        }
+        try {
+            return Employee.Status.valueOf(value.toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ImportRowException(row.line(), "invalid status '" + value + "'");
+        }
+    }
+}
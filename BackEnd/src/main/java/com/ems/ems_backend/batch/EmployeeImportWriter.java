@@ -0,0 +1,37 @@
+package com.ems.ems_backend.batch;
+
+import java.util.List;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.dto.EmployeeBulkResult;
+import com.ems.ems_backend.model.Employee;
+import com.ems.ems_backend.service.EmployeeBulkService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes a chunk through {@link EmployeeBulkService}: one set-based uniqueness check, ID
+ * allocation per department and batched inserts, all inside the chunk transaction. A rejected
+ * record fails the chunk, which the step then rewrites record by record to skip just that one.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeImportWriter implements ItemWriter<ImportedEmployee> {
+
+    private final EmployeeBulkService employeeBulkService;
+
+    @Override
+    public void write(Chunk<? extends ImportedEmployee> chunk) {
+        List<? extends ImportedEmployee> items = chunk.getItems();
+        EmployeeBulkResult result = employeeBulkService.apply(items.stream().map(ImportedEmployee::employee).toList());
+        result.getRows().stream()
+                .filter(r -> r.getStatus() == EmployeeBulkResult.Status.FAILED)
+                .findFirst()
+                .ifPresent(r -> {
+                    throw new ImportRowException(items.get(r.getIndex()).line(), r.getError());
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.ems.ems_backend.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+/**
+ * Keeps the messages of the first skipped rows in the step's execution context, where the
+ * import progress endpoint reads them; persisted with each committed chunk. One per step run.
+ */
+public class ImportErrorListener implements SkipListener<Object, Object>, StepExecutionListener {
+
+    public static final String ERRORS_KEY = "import.errors";
+
+    private final int maxErrors;
+    private StepExecution stepExecution;
+
+    public ImportErrorListener(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+    }
+
+    @Override
+    public void onSkipInRead(Throwable t) {
+        record(t);
+    }
+
+    @Override
+    public void onSkipInProcess(Object item, Throwable t) {
+        record(t);
+    }
+
+    @Override
+    public void onSkipInWrite(Object item, Throwable t) {
+        record(t);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void record(Throwable t) {
+        List<String> errors = (List<String>) stepExecution.getExecutionContext().get(ERRORS_KEY);
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        if (errors.size() < maxErrors) {
+            errors.add(t.getMessage());
+            stepExecution.getExecutionContext().put(ERRORS_KEY, errors);
+        }
+    }
+}
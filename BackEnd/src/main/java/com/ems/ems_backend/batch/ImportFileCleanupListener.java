@@ -0,0 +1,49 @@
+package com.ems.ems_backend.batch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.config.ImportJobConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes a stored upload once its import has completed. Failed and stopped imports keep the
+ * file, since a restart reads it again from the last committed chunk.
+ */
+@Component
+@Slf4j
+public class ImportFileCleanupListener implements JobExecutionListener {
+
+    @Value("${import.dir:imports}")
+    private String importDir;
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            return;
+        }
+        String file = jobExecution.getJobParameters().getString(ImportJobConfig.FILE_PARAMETER);
+        if (file == null) {
+            return;
+        }
+        Path path = Paths.get(file).toAbsolutePath().normalize();
+        // Only uploads stored by ImportService are ours to delete
+        if (!path.startsWith(Paths.get(importDir).toAbsolutePath().normalize())) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ems.ems_backend.batch;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.model.Department;
+import com.ems.ems_backend.model.User;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Department-by-name and user-by-username maps for the employee import, loaded once when the
+ * step starts so processing threads resolve references without a query per row. One per step
+ * run, so concurrent imports each see the references as of their own start.
+ */
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class ImportLookups implements StepExecutionListener {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<String, Department> departments = Map.of();
+    private volatile Map<String, Long> users = Map.of();
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        Map<String, Department> byName = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM departments", rs -> {
+            Department department = new Department();
+            department.setId(rs.getLong("id"));
+            department.setName(rs.getString("name"));
+            byName.put(key(department.getName()), department);
+        });
+        Map<String, Long> byUsername = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users", rs -> {
+            byUsername.put(key(rs.getString("username")), rs.getLong("id"));
+        });
+        departments = byName;
+        users = byUsername;
+    }
+
+    /**
+     * Reference to the department with this name (case-insensitive), or null if there is none
+     */
+    public Department department(String name) {
+        return name == null ? null : departments.get(key(name));
+    }
+
+    public User user(String username) {
+        Long id = username == null ? null : users.get(key(username));
+        if (id == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static String key(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
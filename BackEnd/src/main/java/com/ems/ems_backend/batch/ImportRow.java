@@ -0,0 +1,34 @@
+package com.ems.ems_backend.batch;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * One data row of an import file: its line (CSV) or row number (XLSX) and its values keyed by
+ * normalised header name, so "First Name", "first_name" and "firstName" all read as firstname.
+ */
+public record ImportRow(long line, Map<String, String> values) {
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]");
+
+    public static String normalize(String header) {
+        return header == null ? "" : NON_ALNUM.matcher(header.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /**
+     * Trimmed value of the column, or null when absent or blank
+     */
+    public String get(String column) {
+        String value = values.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    public boolean isBlank() {
+        return values.values().stream().allMatch(v -> v == null || v.isBlank());
+    }
+}
@@ -0,0 +1,11 @@
+package com.ems.ems_backend.batch;
+
+/**
+ * A row that cannot be imported; the import step skips it and records the message
+ */
+public class ImportRowException extends RuntimeException {
+
+    public ImportRowException(long line, String message) {
+        super(line > 0 ? "Line " + line + ": " + message : message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ems.ems_backend.batch;
+
+import com.ems.ems_backend.model.Employee;
+
+/**
+ * A mapped employee with the line of the import file it came from, so a row the writer rejects
+ * is reported against that line.
+ */
+public record ImportedEmployee(long line, Employee employee) {
+}
@@ -0,0 +1,207 @@
+package com.ems.ems_backend.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+/**
+ * Streams the first worksheet of an .xlsx file row by row with StAX; only the shared string
+ * table is held in memory. The first non-empty row is the header. Cells are returned as their
+ * stored text (dates stay Excel serial numbers). Restarts skip the rows already committed.
+ */
+public class XlsxRowReader extends AbstractItemCountingItemStreamItemReader<ImportRow> {
+
+    private static final String SHEET_PREFIX = "xl/worksheets/sheet";
+
+    private final File file;
+    private ZipFile zip;
+    private InputStream sheet;
+    private XMLStreamReader xml;
+    private List<String> sharedStrings;
+    private List<String> header;
+
+    public XlsxRowReader(File file) {
+        this.file = file;
+        setName("xlsxRowReader");
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        zip = new ZipFile(file);
+        sharedStrings = readSharedStrings();
+        ZipEntry first = zip.stream()
+                .filter(e -> e.getName().startsWith(SHEET_PREFIX) && e.getName().endsWith(".xml"))
+                .min(Comparator.comparingInt(e -> sheetNumber(e.getName())))
+                .orElseThrow(() -> new ItemStreamException("No worksheet in " + file.getName()));
+        sheet = zip.getInputStream(first);
+        xml = factory().createXMLStreamReader(sheet);
+        header = null;
+        Row row;
+        while ((row = nextRow()) != null) {
+            if (!row.cells().isEmpty()) {
+                header = new ArrayList<>();
+                for (int i = 0; i <= row.cells().keySet().stream().max(Integer::compare).orElse(-1); i++) {
+                    header.add(ImportRow.normalize(row.cells().get(i)));
+                }
+                return;
+            }
+        }
+        throw new ItemStreamException("No header row in " + file.getName());
+    }
+
+    @Override
+    protected ImportRow doRead() throws Exception {
+        Row row;
+        while ((row = nextRow()) != null) {
+            if (row.cells().isEmpty()) {
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            row.cells().forEach((column, value) -> {
+                if (column < header.size() && !header.get(column).isEmpty()) {
+                    values.put(header.get(column), value);
+                }
+            });
+            return new ImportRow(row.number(), values);
+        }
+        return null;
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+            if (sheet != null) {
+                sheet.close();
+            }
+        } finally {
+            if (zip != null) {
+                zip.close();
+            }
+            xml = null;
+            sheet = null;
+            zip = null;
+        }
+    }
+
+    private record Row(long number, Map<Integer, String> cells) {
+    }
+
+    // Cells of the next <row>, keyed by zero-based column; null at the end of the sheet
+    private Row nextRow() throws XMLStreamException {
+        while (xml.hasNext()) {
+            if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                String r = xml.getAttributeValue(null, "r");
+                long number = r != null ? Long.parseLong(r) : getCurrentItemCount() + 1;
+                return new Row(number, readCells());
+            }
+        }
+        return null;
+    }
+
+    private Map<Integer, String> readCells() throws XMLStreamException {
+        Map<Integer, String> cells = new HashMap<>();
+        int column = -1;
+        String type = null;
+        StringBuilder text = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "c" -> {
+                        String ref = xml.getAttributeValue(null, "r");
+                        column = ref != null ? columnIndex(ref) : column + 1;
+                        type = xml.getAttributeValue(null, "t");
+                        text = new StringBuilder();
+                    }
+                    case "v", "t" -> {
+                        if (text != null) {
+                            text.append(xml.getElementText());
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("c".equals(xml.getLocalName()) && text != null) {
+                    String value = "s".equals(type) ? sharedStrings.get(Integer.parseInt(text.toString().trim()))
+                            : "b".equals(type) ? ("1".equals(text.toString()) ? "true" : "false")
+                            : text.toString();
+                    if (!value.isEmpty()) {
+                        cells.put(column, value);
+                    }
+                    text = null;
+                } else if ("row".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+        }
+        return cells;
+    }
+
+    private List<String> readSharedStrings() throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<>();
+        ZipEntry entry = zip.getEntry("xl/sharedStrings.xml");
+        if (entry == null) {
+            return strings;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+            XMLStreamReader reader = factory().createXMLStreamReader(in);
+            StringBuilder current = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("si".equals(reader.getLocalName())) {
+                        current = new StringBuilder();
+                    } else if ("t".equals(reader.getLocalName()) && current != null) {
+                        current.append(reader.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "si".equals(reader.getLocalName())) {
+                    strings.add(current.toString());
+                    current = null;
+                }
+            }
+            reader.close();
+        }
+        return strings;
+    }
+
+    // "AB12" -> 27
+    private static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            index = index * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static int sheetNumber(String name) {
+        String digits = name.substring(SHEET_PREFIX.length(), name.length() - ".xml".length());
+        return digits.chars().allMatch(Character::isDigit) && !digits.isEmpty() ? Integer.parseInt(digits) : Integer.MAX_VALUE;
+    }
+
+    // No DTDs or external entities: the files are user uploads
+    private static XMLInputFactory factory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,192 @@
+package com.ems.ems_backend.config;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ems.ems_backend.batch.DepartmentImportProcessor;
+import com.ems.ems_backend.batch.DepartmentImportWriter;
+import com.ems.ems_backend.batch.EmployeeImportProcessor;
+import com.ems.ems_backend.batch.EmployeeImportWriter;
+import com.ems.ems_backend.batch.ImportErrorListener;
+import com.ems.ems_backend.batch.ImportFileCleanupListener;
+import com.ems.ems_backend.batch.ImportLookups;
+import com.ems.ems_backend.batch.ImportRow;
+import com.ems.ems_backend.batch.ImportRowException;
+import com.ems.ems_backend.batch.ImportedEmployee;
+import com.ems.ems_backend.batch.XlsxRowReader;
+import com.ems.ems_backend.model.Department;
+
+/**
+ * Chunk-oriented import jobs for employee and department files (CSV or XLSX, chosen by the
+ * file extension). The reader streams the file on the step thread and its position is saved
+ * with every committed chunk, so a failed run restarts after the last committed chunk.
+ * Rows are mapped and validated on a small pool, then written in one batch per chunk.
+ * Bad rows are skipped (up to import.skip-limit) and transient database errors retried.
+ * The upload is deleted once its job completes.
+ */
+@Configuration
+public class ImportJobConfig {
+
+    public static final String EMPLOYEE_IMPORT_JOB = "employeeImportJob";
+    public static final String DEPARTMENT_IMPORT_JOB = "departmentImportJob";
+    public static final String FILE_PARAMETER = "file";
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${import.skip-limit:1000}")
+    private int skipLimit;
+
+    @Value("${import.retry-limit:3}")
+    private int retryLimit;
+
+    @Value("${import.max-recorded-errors:100}")
+    private int maxRecordedErrors;
+
+    @Bean
+    public TaskExecutor importValidationExecutor(@Value("${import.validation-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-validate-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamReader<ImportRow> importRowReader(@Value("#{jobParameters['" + FILE_PARAMETER + "']}") String path) {
+        File file = new File(path);
+        if (path.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            return new XlsxRowReader(file);
+        }
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setStrict(false);
+        AtomicReference<String[]> header = new AtomicReference<>(new String[0]);
+        FlatFileItemReader<ImportRow> reader = new FlatFileItemReaderBuilder<ImportRow>()
+                .name("csvRowReader")
+                .resource(new FileSystemResource(file))
+                .encoding("UTF-8")
+                .linesToSkip(1)
+                .skippedLinesCallback(line -> header.set(tokenizer.tokenize(line).getValues()))
+                .lineMapper((line, lineNumber) -> {
+                    String[] names = header.get();
+                    String[] values = tokenizer.tokenize(line).getValues();
+                    Map<String, String> row = new HashMap<>();
+                    for (int i = 0; i < Math.min(names.length, values.length); i++) {
+                        row.put(ImportRow.normalize(names[i]), values[i]);
+                    }
+                    return new ImportRow(lineNumber, row);
+                })
+                .build();
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public ImportErrorListener importErrorListener() {
+        return new ImportErrorListener(maxRecordedErrors);
+    }
+
+    @Bean
+    public Step employeeImportStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            ItemStreamReader<ImportRow> importRowReader, EmployeeImportProcessor processor, EmployeeImportWriter writer,
+            ImportLookups lookups, ImportErrorListener importErrorListener,
+            @Qualifier("importValidationExecutor") TaskExecutor importValidationExecutor) {
+        return new StepBuilder("employeeImportStep", jobRepository)
+                .<ImportRow, Future<ImportedEmployee>>chunk(chunkSize, transactionManager)
+                .reader(importRowReader)
+                .processor(async(processor, importValidationExecutor))
+                .writer(async(writer))
+                .faultTolerant()
+                .skip(ImportRowException.class)
+                .skip(FlatFileParseException.class)
+                .skip(DataIntegrityViolationException.class)
+                .skipLimit(skipLimit)
+                .retry(TransientDataAccessException.class)
+                .retryLimit(retryLimit)
+                .listener((SkipListener<Object, Object>) importErrorListener)
+                .listener((StepExecutionListener) importErrorListener)
+                .listener((StepExecutionListener) lookups)
+                .build();
+    }
+
+    @Bean
+    public Step departmentImportStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+            ItemStreamReader<ImportRow> importRowReader, DepartmentImportProcessor processor,
+            DepartmentImportWriter writer, ImportErrorListener importErrorListener,
+            @Qualifier("importValidationExecutor") TaskExecutor importValidationExecutor) {
+        return new StepBuilder("departmentImportStep", jobRepository)
+                .<ImportRow, Future<Department>>chunk(chunkSize, transactionManager)
+                .reader(importRowReader)
+                .processor(async(processor, importValidationExecutor))
+                .writer(async(writer))
+                .faultTolerant()
+                .skip(ImportRowException.class)
+                .skip(FlatFileParseException.class)
+                .skipLimit(skipLimit)
+                .retry(TransientDataAccessException.class)
+                .retryLimit(retryLimit)
+                .listener((SkipListener<Object, Object>) importErrorListener)
+                .listener((StepExecutionListener) importErrorListener)
+                .build();
+    }
+
+    @Bean(name = EMPLOYEE_IMPORT_JOB)
+    public Job employeeImportJob(JobRepository jobRepository, @Qualifier("employeeImportStep") Step step,
+            ImportFileCleanupListener cleanup) {
+        return new JobBuilder(EMPLOYEE_IMPORT_JOB, jobRepository).listener(cleanup).start(step).build();
+    }
+
+    @Bean(name = DEPARTMENT_IMPORT_JOB)
+    public Job departmentImportJob(JobRepository jobRepository, @Qualifier("departmentImportStep") Step step,
+            ImportFileCleanupListener cleanup) {
+        return new JobBuilder(DEPARTMENT_IMPORT_JOB, jobRepository).listener(cleanup).start(step).build();
+    }
+
+    // Processing runs on the validation pool; the writer waits for the chunk's results in order
+    private static <O> AsyncItemProcessor<ImportRow, O> async(ItemProcessor<ImportRow, O> delegate, TaskExecutor executor) {
+        AsyncItemProcessor<ImportRow, O> processor = new AsyncItemProcessor<>();
+        processor.setDelegate(delegate);
+        processor.setTaskExecutor(executor);
+        return processor;
+    }
+
+    private static <O> AsyncItemWriter<O> async(ItemWriter<O> delegate) {
+        AsyncItemWriter<O> writer = new AsyncItemWriter<>();
+        writer.setDelegate(delegate);
+        return writer;
+    }
+}
@@ -1,26 +1,155 @@
 package com.ems.ems_backend.config;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
 @Configuration
-@EnableAsync
 @EnableScheduling
+@Slf4j
 public class NotificationConfig {
 
-    @Bean(name = "notificationTaskExecutor")
-    public Executor notificationTaskExecutor() {
+    public static final String NOTIFICATION_EXECUTOR = "notificationTaskExecutor";
+
+    public static final String NOTIFICATION_PRIORITY_EXECUTOR = "notificationPriorityTaskExecutor";
+
+    /**
+     * Executor for standard-lane outbox deliveries. Bounded pool and queue; when the queue is full
+     * the configured rejection policy applies (ABORT, CALLER_RUNS, DISCARD or DISCARD_OLDEST).
+     * With virtual-threads enabled (requires a Java 21 runtime) each task gets its own virtual
+     * thread and max-pool-size caps concurrency instead.
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public AsyncTaskExecutor notificationTaskExecutor(MeterRegistry meterRegistry,
+            @Value("${notification.executor.core-pool-size:2}") int corePoolSize,
+            @Value("${notification.executor.max-pool-size:5}") int maxPoolSize,
+            @Value("${notification.executor.queue-capacity:100}") int queueCapacity,
+            @Value("${notification.executor.rejection-policy:CALLER_RUNS}") RejectionPolicy rejectionPolicy,
+            @Value("${notification.executor.virtual-threads:false}") boolean virtualThreads) {
+        TaskDecorator latencyDecorator = latencyDecorator(meterRegistry, "standard");
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notification-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(maxPoolSize);
+            executor.setTaskDecorator(latencyDecorator);
+            return executor;
+        }
+
+        return threadPool(meterRegistry, "standard", "notification-", corePoolSize, maxPoolSize, queueCapacity,
+                rejectionPolicy, latencyDecorator);
+    }
+
+    /**
+     * Separate small pool for the HIGH/URGENT outbox lane, so account locks and admin alerts
+     * never queue behind a broadcast on the standard executor
+     */
+    @Bean(name = NOTIFICATION_PRIORITY_EXECUTOR)
+    public AsyncTaskExecutor notificationPriorityTaskExecutor(MeterRegistry meterRegistry,
+            @Value("${notification.executor.priority.pool-size:2}") int poolSize,
+            @Value("${notification.executor.priority.queue-capacity:50}") int queueCapacity) {
+        return threadPool(meterRegistry, "priority", "notification-priority-", poolSize, poolSize, queueCapacity,
+                RejectionPolicy.CALLER_RUNS, latencyDecorator(meterRegistry, "priority"));
+    }
+
+    // Returned uninitialized: Spring starts the pool in afterPropertiesSet(), and the gauges only
+    // look up the underlying ThreadPoolExecutor when they are read
+    private ThreadPoolTaskExecutor threadPool(MeterRegistry meterRegistry, String lane, String threadNamePrefix,
+            int corePoolSize, int maxPoolSize, int queueCapacity, RejectionPolicy rejectionPolicy,
+            TaskDecorator latencyDecorator) {
+        Counter rejected = Counter.builder("notification.executor.rejected")
+                .description("Notification tasks rejected because the queue was full")
+                .tag("policy", rejectionPolicy.name())
+                .tag("lane", lane)
+                .register(meterRegistry);
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("notification-");
-        executor.initialize();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setTaskDecorator(latencyDecorator);
+        executor.setRejectedExecutionHandler(countingHandler(rejectionPolicy.handler(), rejected));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("notification.executor.queue.size", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Notification tasks waiting for a thread")
+                .tag("lane", lane)
+                .register(meterRegistry);
+        Gauge.builder("notification.executor.queue.remaining", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().remainingCapacity())
+                .tag("lane", lane)
+                .register(meterRegistry);
+        Gauge.builder("notification.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("lane", lane)
+                .register(meterRegistry);
         return executor;
     }
+
+    // Records time spent queued and time spent running for every task
+    private TaskDecorator latencyDecorator(MeterRegistry meterRegistry, String lane) {
+        Timer queued = Timer.builder("notification.task.latency")
+                .tag("phase", "queued")
+                .tag("lane", lane)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer execution = Timer.builder("notification.task.latency")
+                .tag("phase", "execution")
+                .tag("lane", lane)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                queued.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    execution.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    private RejectedExecutionHandler countingHandler(RejectedExecutionHandler delegate, Counter rejected) {
+        return (task, executor) -> {
+            rejected.increment();
+            log.warn("Notification executor saturated (queue={}), applying rejection policy", executor.getQueue().size());
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+
+    public enum RejectionPolicy {
+        ABORT,
+        CALLER_RUNS,
+        DISCARD,
+        DISCARD_OLDEST;
+
+        RejectedExecutionHandler handler() {
+            return switch (this) {
+                case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case DISCARD -> new ThreadPoolExecutor.DiscardPolicy();
+                case DISCARD_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            };
+        }
+    }
 }
@@ -1,33 +1,62 @@
 package com.ems.ems_backend.config;
 
+import java.security.Principal;
+import java.util.Map;
+
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
-
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 @Configuration
-public class WebSocketConfig {
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry config) {
+        config.enableSimpleBroker("/topic", "/queue");
+        config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+    }
 
-    // WebSocket configuration is commented out until the dependency is added
-    // Uncomment the code below and add the dependency when ready to use real-time notifications
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws-notifications")
+                .setHandshakeHandler(new UserIdHandshakeHandler())
+                .setAllowedOriginPatterns("*")
+                .withSockJS();
+    }
 
-    @EnableWebSocketMessageBroker
-    public class WebSocketMessageBrokerConfig implements WebSocketMessageBrokerConfigurer {
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Slow sessions are closed instead of buffering pushes without bound
+        registration.setSendTimeLimit(10 * 1000)
+                .setSendBufferSizeLimit(256 * 1024)
+                .setMessageSizeLimit(64 * 1024);
+    }
 
-        @Override
-        public void configureMessageBroker(MessageBrokerRegistry config) {
-            config.enableSimpleBroker("/topic", "/queue");
-            config.setApplicationDestinationPrefixes("/app");
-            config.setUserDestinationPrefix("/user");
-        }
+    /**
+     * Names the session after the userId query parameter, matching how the REST
+     * notification endpoints identify the user, so pushes can target /user/{id}/queue/...
+     */
+    private static class UserIdHandshakeHandler extends DefaultHandshakeHandler {
 
         @Override
-        public void registerStompEndpoints(StompEndpointRegistry registry) {
-            registry.addEndpoint("/ws-notifications")
-                    .setAllowedOriginPatterns("*")
-                    .withSockJS();
+        protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                Map<String, Object> attributes) {
+            if (request instanceof ServletServerHttpRequest servletRequest) {
+                String userId = servletRequest.getServletRequest().getParameter("userId");
+                if (userId != null && !userId.isBlank()) {
+                    return () -> userId;
+                }
+            }
+            return super.determineUser(request, wsHandler, attributes);
         }
     }
 }
@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -30,6 +32,8 @@ import com.ems.ems_backend.model.User;
 import com.ems.ems_backend.repository.DepartmentRepository;
 import com.ems.ems_backend.repository.EmployeeRepository;
 import com.ems.ems_backend.repository.UserRepository;
+import com.ems.ems_backend.service.EmployeeIdAllocator;
+import com.ems.ems_backend.service.EmployeeService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -43,6 +47,8 @@ public class AdminController {
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EmployeeService employeeService;
+    private final EmployeeIdAllocator employeeIdAllocator;
 
     @GetMapping("/category")
     public ResponseEntity<?> getCategories() {
@@ -126,6 +132,7 @@ public class AdminController {
                 employee.setDepartmentEntity(deptOpt.get());
                 employee.setDepartment(deptOpt.get().getName());
             }
+            employee.setEmployeeId(employeeIdAllocator.next(employee.getDepartment()));
 
             // Handle image upload
             if (image != null && !image.isEmpty()) {
@@ -148,13 +155,22 @@ public class AdminController {
         }
     }
 
+    // Optional page/size return one page plus "Total"; without them every employee is returned
     @GetMapping("/employee")
-    public ResponseEntity<?> getAllEmployees() {
+    public ResponseEntity<?> getAllEmployees(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Employee> employees = employeeRepository.findAll();
             Map<String, Object> response = new HashMap<>();
             response.put("Status", true);
-            response.put("Result", employees);
+            if (page != null || size != null) {
+                Page<Employee> employees = employeeService.list(null,
+                        PageRequest.of(page != null ? page : 0, size != null ? size : 20));
+                response.put("Result", employees.getContent());
+                response.put("Total", employees.getTotalElements());
+            } else {
+                response.put("Result", employeeService.getAll());
+            }
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
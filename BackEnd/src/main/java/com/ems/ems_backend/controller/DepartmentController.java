@@ -3,7 +3,6 @@ package com.ems.ems_backend.controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,10 +14,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ems.ems_backend.dto.DepartmentBackfillResult;
 import com.ems.ems_backend.dto.MessageResponse;
 import com.ems.ems_backend.model.Department;
 import com.ems.ems_backend.model.Employee;
 import com.ems.ems_backend.repository.EmployeeRepository;
+import com.ems.ems_backend.service.DepartmentBackfillService;
+import com.ems.ems_backend.service.DepartmentDashboardService;
 import com.ems.ems_backend.service.DepartmentService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,46 +31,29 @@ import lombok.RequiredArgsConstructor;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final DepartmentDashboardService departmentDashboardService;
+    private final DepartmentBackfillService departmentBackfillService;
     private final EmployeeRepository employeeRepository;
 
+    /**
+     * Every department keyed by name, with its head, employee count and budget; served from
+     * {@link DepartmentDashboardService}'s cached aggregate
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllDepartments() {
-        List<Department> departments = departmentService.getAllDepartments();
-
         Map<String, Object> response = new HashMap<>();
-        Map<String, Object> departmentData = departments.stream()
-            .collect(Collectors.toMap(
-                Department::getName,
-                dept -> {
-                    Map<String, Object> deptInfo = new HashMap<>();
-
-                    // Get department head info
-                    String headName = "Not Assigned";
-                    if (dept.getDepartmentHeadId() != null) {
-                        employeeRepository.findById(dept.getDepartmentHeadId())
-                            .ifPresent(head -> deptInfo.put("head", head.getFullName()));
-                    }
-                    if (!deptInfo.containsKey("head")) {
-                        deptInfo.put("head", headName);
-                    }
-
-                    // Get employee count - use the new method that supports both string and entity
-                    List<Employee> deptEmployees = employeeRepository.findByDepartmentNameAll(dept.getName());
-                    deptInfo.put("employees", deptEmployees.size());
-                    deptInfo.put("description", dept.getDescription());
-                    deptInfo.put("budget_allocated", dept.getBudgetAllocated());
-                    deptInfo.put("budget_spent", dept.getBudgetSpent());
-                    deptInfo.put("budget_remaining", dept.getRemainingBudget());
-                    deptInfo.put("status", dept.getStatus());
-
-                    return deptInfo;
-                }
-            ));
-
-        response.put("departments", departmentData);
+        response.put("departments", departmentDashboardService.getDepartments());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Link employees still identified only by department name to their department (also runs at startup)
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<DepartmentBackfillResult> backfillDepartmentLinks() {
+        return ResponseEntity.ok(departmentBackfillService.backfill());
+    }
+
     @PostMapping
     public ResponseEntity<?> createDepartment(@RequestBody Map<String, Object> departmentRequest) {
         try {
@@ -157,9 +142,8 @@ public class DepartmentController {
             Department department = departmentService.getDepartmentById(departmentId)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
 
-            // Check if department has employees - use the improved method
-            List<Employee> employees = employeeRepository.findByDepartmentNameAll(department.getName());
-            if (!employees.isEmpty()) {
+            // Check if department has employees
+            if (employeeRepository.existsByDepartmentEntityId(department.getId())) {
                 return ResponseEntity.badRequest()
                     .body(new MessageResponse("Cannot delete department with existing employees. Please reassign employees first."));
             }
@@ -205,8 +189,7 @@ public class DepartmentController {
             Department department = departmentService.getDepartmentById(departmentId)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
 
-            // Use the improved method that finds employees by both string and entity department
-            List<Employee> employees = employeeRepository.findByDepartmentNameAll(department.getName());
+            List<Employee> employees = employeeRepository.findByDepartmentEntityId(department.getId());
             return ResponseEntity.ok(employees);
 
         } catch (Exception e) {
@@ -1,10 +1,18 @@
 package com.ems.ems_backend.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,10 +23,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ems.ems_backend.dto.EmployeeBulkResult;
+import com.ems.ems_backend.dto.EmployeeFilter;
+import com.ems.ems_backend.dto.EmployeeSuggestion;
+import com.ems.ems_backend.export.ExportDataset;
+import com.ems.ems_backend.export.ExportFormat;
 import com.ems.ems_backend.model.Employee;
+import com.ems.ems_backend.service.EmployeeBulkService;
+import com.ems.ems_backend.service.EmployeeExportService;
 import com.ems.ems_backend.service.EmployeeService;
-import com.ems.ems_backend.utils.EmployeeIdGenerator;
+import com.ems.ems_backend.service.EmployeeSuggestIndex;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,12 +46,57 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EmployeeRestController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final EmployeeService employeeService;
+    private final EmployeeSuggestIndex suggestIndex;
+    private final EmployeeBulkService employeeBulkService;
+    private final EmployeeExportService exportService;
+
+    @Value("${employee.suggest.max-limit:25}")
+    private int maxSuggestLimit;
+
+    @Value("${employee.suggest.cache-seconds:30}")
+    private long suggestCacheSeconds;
 
+    /**
+     * Without paging parameters this returns every employee as before.
+     * page/size (or paging=offset) returns a Page sorted by sort=property[,asc|desc];
+     * paging=cursor (or any cursor value) returns id-ordered keyset pages without a count query.
+     */
     @GetMapping
-    public ResponseEntity<List<Employee>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAll();
-        return ResponseEntity.ok(employees);
+    public ResponseEntity<?> getAllEmployees(
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String sort,
+            EmployeeFilter filter) {
+        if ("cursor".equalsIgnoreCase(paging) || (cursor != null && !cursor.isBlank())) {
+            return ResponseEntity.ok(employeeService.list(filter, cursor, size != null ? size : 20));
+        }
+        if (paging == null && page == null && size == null) {
+            List<Employee> employees = employeeService.getAll();
+            return ResponseEntity.ok(employees);
+        }
+        PageRequest pageable = PageRequest.of(page != null ? page : 0, size != null ? size : 20, sortOf(sort));
+        return ResponseEntity.ok(employeeService.list(filter, pageable));
+    }
+
+    /**
+     * Export matching employees row by row as flat rows (the columns of the employees export);
+     * format=ndjson writes one object per line, json a single array
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestParam(defaultValue = "ndjson") String format,
+            EmployeeFilter filter) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        ExportFormat exportFormat = ndjson ? ExportFormat.NDJSON : ExportFormat.JSON;
+        StreamingResponseBody body = out -> exportService.export(ExportDataset.EMPLOYEES, exportFormat, filter, false, out);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -45,13 +107,6 @@ public class EmployeeRestController {
 
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@Valid @RequestBody Employee employee) {
-        // Generate employee ID if not provided
-        if (employee.getEmployeeId() == null || employee.getEmployeeId().isEmpty()) {
-            String fullName = (employee.getFirstName() != null ? employee.getFirstName() : "") + 
-                             " " + (employee.getLastName() != null ? employee.getLastName() : "");
-            employee.setEmployeeId(EmployeeIdGenerator.generateId(fullName.trim(), employee.getDepartment()));
-        }
-        
         // Set hire date if not provided
         if (employee.getHireDate() == null) {
             employee.setHireDate(LocalDate.now());
@@ -70,6 +125,15 @@ public class EmployeeRestController {
         return ResponseEntity.ok(savedEmployee);
     }
 
+    /**
+     * Create (no id) or update (with id) many employees at once; each record gets its own result,
+     * and invalid or conflicting records do not stop the rest
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<EmployeeBulkResult> bulkUpsertEmployees(@RequestBody List<Employee> employees) {
+        return ResponseEntity.ok(employeeBulkService.apply(employees));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employee) {
         employee.setUpdatedAt(LocalDateTime.now());
@@ -83,12 +147,54 @@ public class EmployeeRestController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Ranked search over name, employee ID, email, department and position (prefix and fuzzy).
+     * With page/size the ranked hits are returned as a Page; without them, the best matching
+     * employees as before.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Employee>> searchEmployees(@RequestParam String query) {
+    public ResponseEntity<?> searchEmployees(
+            @RequestParam String query,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        if (page != null || size != null) {
+            return ResponseEntity.ok(employeeService.search(query,
+                    PageRequest.of(page != null ? page : 0, size != null ? size : 20)));
+        }
         List<Employee> employees = employeeService.search(query);
         return ResponseEntity.ok(employees);
     }
 
+    /**
+     * Typeahead for employee pickers: id, name, employee ID and department of up to limit employees
+     * whose name or employee ID starts with q. The ETag hashes the returned entries, so it is the
+     * same on every instance and across restarts, and unchanged results revalidate with 304.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EmployeeSuggestion>> suggestEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        List<EmployeeSuggestion> suggestions = suggestIndex.suggest(q, Math.min(limit, maxSuggestLimit));
+        String etag = suggestionsEtag(suggestions);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(suggestCacheSeconds, TimeUnit.SECONDS).cachePrivate())
+                .eTag(etag)
+                .body(suggestions);
+    }
+
+    private static String suggestionsEtag(List<EmployeeSuggestion> suggestions) {
+        StringBuilder content = new StringBuilder();
+        for (EmployeeSuggestion suggestion : suggestions) {
+            content.append(suggestion.getId()).append('\u0000').append(suggestion.getFullName()).append('\u0000')
+                    .append(suggestion.getEmployeeId()).append('\u0000').append(suggestion.getDepartment()).append('\n');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     @GetMapping("/department/{department}")
     public ResponseEntity<List<Employee>> getEmployeesByDepartment(@PathVariable String department) {
         List<Employee> employees = employeeService.getEmployeesByDepartment(department);
@@ -106,4 +212,11 @@ public class EmployeeRestController {
         Employee updatedEmployee = employeeService.updateStatus(id, status);
         return ResponseEntity.ok(updatedEmployee);
     }
+
+    private static Sort sortOf(String sort) {
+        String[] parts = sort.split(",");
+        Sort.Direction direction = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim())
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, parts[0].trim());
+    }
 }
@@ -0,0 +1,54 @@
+package com.ems.ems_backend.controller;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ems.ems_backend.dto.EmployeeFilter;
+import com.ems.ems_backend.export.ExportDataset;
+import com.ems.ems_backend.export.ExportFormat;
+import com.ems.ems_backend.service.EmployeeExportService;
+
+import lombok.RequiredArgsConstructor;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final EmployeeExportService exportService;
+
+    /**
+     * Download employees (with department and user account) or payroll as csv, ndjson, json or columnar,
+     * gzip-compressed unless gzip=false; accepts the same filters as GET /api/employees
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        @RequestParam(defaultValue = "true") boolean gzip,
+                                                        EmployeeFilter filter) {
+        ExportDataset exportDataset = ExportDataset.from(dataset);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String fileName = exportDataset.fileName() + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + exportFormat.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> exportService.export(exportDataset, exportFormat, filter, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : MediaType.parseMediaType(exportFormat.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
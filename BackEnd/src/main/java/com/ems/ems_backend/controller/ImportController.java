@@ -0,0 +1,48 @@
+package com.ems.ems_backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ems.ems_backend.dto.ImportProgress;
+import com.ems.ems_backend.service.ImportService;
+
+import lombok.RequiredArgsConstructor;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    private final ImportService importService;
+
+    /**
+     * Upload a CSV or XLSX file of employees or departments; the import runs in the background
+     */
+    @PostMapping("/{type}")
+    public ResponseEntity<ImportProgress> startImport(@PathVariable String type,
+                                                      @RequestParam("file") MultipartFile file) throws Exception {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.start(type, file));
+    }
+
+    /**
+     * Progress of an import: counts, rows/sec and the first skipped-row errors
+     */
+    @GetMapping("/{executionId}")
+    public ResponseEntity<ImportProgress> getProgress(@PathVariable Long executionId) {
+        return ResponseEntity.ok(importService.progress(executionId));
+    }
+
+    @PostMapping("/{executionId}/restart")
+    public ResponseEntity<ImportProgress> restartImport(@PathVariable Long executionId) throws Exception {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.restart(executionId));
+    }
+}
@@ -16,6 +16,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.ems.ems_backend.dto.CursorPage;
+import com.ems.ems_backend.dto.NotificationBulkRequest;
+import com.ems.ems_backend.dto.NotificationBulkResult;
 import com.ems.ems_backend.dto.NotificationCreateRequest;
 import com.ems.ems_backend.dto.NotificationResponse;
 import com.ems.ems_backend.dto.NotificationSummary;
@@ -47,13 +50,21 @@ public class NotificationController {
         }
 
     /**
-     * Get current user's notifications with pagination
+     * Get current user's notifications with pagination.
+     * paging=cursor (or any cursor value) switches to keyset paging without a count query
      */
     @GetMapping
-        public ResponseEntity<Page<NotificationResponse>> getUserNotifications(
+        public ResponseEntity<?> getUserNotifications(
                         @RequestParam Long userId,
                         @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "20") int size) {
+                        @RequestParam(defaultValue = "20") int size,
+                        @RequestParam(defaultValue = "offset") String paging,
+                        @RequestParam(required = false) String cursor) {
+                if (isCursorPaging(paging, cursor)) {
+                        CursorPage<NotificationResponse> notifications = notificationService
+                                        .getUserNotifications(userId, cursor, size);
+                        return ResponseEntity.ok(notifications);
+                }
                 Page<NotificationResponse> notifications = notificationService
                                 .getUserNotifications(userId, page, size);
                 return ResponseEntity.ok(notifications);
@@ -114,6 +125,26 @@ public class NotificationController {
                 return ResponseEntity.ok().build();
         }
 
+    /**
+     * Mark several notifications as read, by ids or by filter
+     */
+    @PutMapping("/bulk-read")
+    public ResponseEntity<NotificationBulkResult> bulkMarkAsRead(
+            @RequestParam Long userId,
+            @RequestBody NotificationBulkRequest request) {
+        return ResponseEntity.ok(notificationService.markAsRead(userId, request));
+    }
+
+    /**
+     * Delete several notifications, by ids or by filter
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<NotificationBulkResult> bulkDelete(
+            @RequestParam Long userId,
+            @RequestBody NotificationBulkRequest request) {
+        return ResponseEntity.ok(notificationService.deleteNotifications(userId, request));
+    }
+
     /**
      * Delete notification
      */
@@ -126,16 +157,23 @@ public class NotificationController {
         }
 
     /**
-     * Get filtered notifications
+     * Get filtered notifications; supports the same paging modes as GET /api/notifications
      */
     @GetMapping("/filter")
-        public ResponseEntity<Page<NotificationResponse>> getFilteredNotifications(
+        public ResponseEntity<?> getFilteredNotifications(
                         @RequestParam Long userId,
                         @RequestParam(required = false) Boolean isRead,
                         @RequestParam(required = false) Notification.NotificationType type,
                         @RequestParam(required = false) Notification.NotificationPriority priority,
                         @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "20") int size) {
+                        @RequestParam(defaultValue = "20") int size,
+                        @RequestParam(defaultValue = "offset") String paging,
+                        @RequestParam(required = false) String cursor) {
+                if (isCursorPaging(paging, cursor)) {
+                        CursorPage<NotificationResponse> notifications = notificationService
+                                        .getFilteredNotifications(userId, isRead, type, priority, cursor, size);
+                        return ResponseEntity.ok(notifications);
+                }
                 Page<NotificationResponse> notifications = notificationService
                                 .getFilteredNotifications(userId, isRead, type, priority, page, size);
                 return ResponseEntity.ok(notifications);
@@ -188,4 +226,8 @@ public class NotificationController {
         notificationService.createSystemNotification(recipientId, title, message, type, priority);
         return ResponseEntity.ok("System notification created successfully");
     }
+
+    private static boolean isCursorPaging(String paging, String cursor) {
+        return "cursor".equalsIgnoreCase(paging) || (cursor != null && !cursor.isBlank());
+    }
 }
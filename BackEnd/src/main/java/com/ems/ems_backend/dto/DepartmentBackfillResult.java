@@ -0,0 +1,21 @@
+package com.ems.ems_backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentBackfillResult {
+
+    private long linked;            // department_id set from the name column
+    private long renamed;           // name column rewritten from the linked department
+    private int chunks;
+    private long elapsedMillis;
+    private List<String> unmatched; // names that match no department; those rows stay unlinked
+}
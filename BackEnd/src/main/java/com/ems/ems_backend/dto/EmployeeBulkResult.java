@@ -0,0 +1,36 @@
+package com.ems.ems_backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeBulkResult {
+
+    private int created;
+    private int updated;
+    private int failed;
+    private long elapsedMillis;
+    private List<Row> rows; // One per submitted record, in request order
+
+    public enum Status {
+        CREATED, UPDATED, FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private int index;
+        private Long id;
+        private String employeeId;
+        private Status status;
+        private String error;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ems.ems_backend.dto;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.ems.ems_backend.model.Employee.Status;
+
+import lombok.Data;
+
+@Data
+public class EmployeeFilter {
+    private String query;
+    private String department;
+    private Long departmentId;
+    private String position;
+    private Status status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate hiredTo;
+}
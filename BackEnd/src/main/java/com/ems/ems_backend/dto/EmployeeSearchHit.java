@@ -0,0 +1,27 @@
+package com.ems.ems_backend.dto;
+
+import com.ems.ems_backend.model.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ranked employee search result, served from the in-memory index
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSearchHit {
+
+    private Long id;
+    private String employeeId;
+    private String fullName;
+    private String email;
+    private String department;
+    private String position;
+    private Employee.Status status;
+    private double score;
+}
@@ -0,0 +1,25 @@
+package com.ems.ems_backend.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A page of search hits. {@code truncated} is set when a query word matched more indexed terms
+ * than {@code employee.search.max-prefix-expansions}: only the best-covered terms were read, so
+ * the total undercounts and a longer word narrows the results.
+ */
+public class EmployeeSearchPage extends PageImpl<EmployeeSearchHit> {
+
+    private final boolean truncated;
+
+    public EmployeeSearchPage(List<EmployeeSearchHit> content, Pageable pageable, long total, boolean truncated) {
+        super(content, pageable, total);
+        this.truncated = truncated;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
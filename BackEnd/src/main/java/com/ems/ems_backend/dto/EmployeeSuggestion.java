@@ -0,0 +1,18 @@
+package com.ems.ems_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Typeahead entry for employee pickers. Instances are built once per index snapshot and shared
+ * by every response, so they are immutable.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeSuggestion {
+
+    private final Long id;
+    private final String fullName;
+    private final String employeeId;
+    private final String department;
+}
@@ -0,0 +1,33 @@
+package com.ems.ems_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FanoutResult {
+
+    private int recipients;
+    private int coalesced; // recipients whose open digest absorbed the message instead of a new row
+    private int batches;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    public static FanoutResult empty() {
+        return FanoutResult.builder().build();
+    }
+
+    public static FanoutResult of(int recipients, int batches, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return FanoutResult.builder()
+                .recipients(recipients)
+                .batches(batches)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(seconds > 0 ? recipients / seconds : recipients)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ems.ems_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of one import job execution; counts cover the chunks committed so far
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportProgress {
+
+    private Long executionId;
+    private String job;
+    private String file;
+    private String status;
+    private String exitDescription;
+    private long read;
+    private long written;
+    private long skipped;
+    private long commits;
+    private long rollbacks;
+    private double rowsPerSecond;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean restartable;
+    private List<String> errors;
+}
@@ -0,0 +1,34 @@
+package com.ems.ems_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ems.ems_backend.model.Notification;
+
+import lombok.Data;
+
+/**
+ * Target of a bulk read/delete: explicit ids, or a filter over the user's notifications.
+ * When ids are given the filter fields are ignored.
+ */
+@Data
+public class NotificationBulkRequest {
+    private List<Long> ids;
+    private Boolean isRead; // delete only; bulk-read always targets unread notifications
+    private Notification.NotificationType type;
+    private Notification.NotificationPriority priority;
+    private LocalDateTime createdBefore;
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return isRead != null || hasReadFilter();
+    }
+
+    // Filters bulk-read applies; isRead alone must not select every unread notification
+    public boolean hasReadFilter() {
+        return type != null || priority != null || createdBefore != null;
+    }
+}
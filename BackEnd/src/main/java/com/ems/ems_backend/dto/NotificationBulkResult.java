@@ -0,0 +1,14 @@
+package com.ems.ems_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBulkResult {
+
+    private String operation;
+    private int affected;
+}
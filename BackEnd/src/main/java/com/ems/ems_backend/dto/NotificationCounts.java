@@ -0,0 +1,35 @@
+package com.ems.ems_backend.dto;
+
+import com.ems.ems_backend.model.NotificationCounter;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class NotificationCounts {
+
+    private Long userId;
+    private long total;
+    private long unread;
+    private long highUnread;
+    private long urgentUnread;
+
+    // Used by JPQL constructor expressions, where SUM over no rows yields null
+    public NotificationCounts(Long userId, Long total, Long unread, Long highUnread, Long urgentUnread) {
+        this.userId = userId;
+        this.total = total != null ? total : 0;
+        this.unread = unread != null ? unread : 0;
+        this.highUnread = highUnread != null ? highUnread : 0;
+        this.urgentUnread = urgentUnread != null ? urgentUnread : 0;
+    }
+
+    public static NotificationCounts empty(Long userId) {
+        return new NotificationCounts(userId, 0L, 0L, 0L, 0L);
+    }
+
+    public static NotificationCounts fromCounter(NotificationCounter counter) {
+        return new NotificationCounts(counter.getUserId(), counter.getTotalCount(), counter.getUnreadCount(),
+                counter.getHighUnreadCount(), counter.getUrgentUnreadCount());
+    }
+}
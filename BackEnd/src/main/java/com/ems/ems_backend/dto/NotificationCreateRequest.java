@@ -40,4 +40,7 @@ public class NotificationCreateRequest {
 
     @Size(max = 50, message = "Action label must not exceed 50 characters")
     private String actionLabel;
+
+    @Size(max = 150, message = "Group key must not exceed 150 characters")
+    private String groupKey; // Optional, merges with an open digest carrying the same key
 }
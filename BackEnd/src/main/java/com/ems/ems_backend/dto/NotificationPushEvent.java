@@ -0,0 +1,28 @@
+package com.ems.ems_backend.dto;
+
+import com.ems.ems_backend.model.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact STOMP payload sent to /user/queue/notifications.
+ * Bursts are coalesced, so newCount may cover several notifications.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPushEvent {
+
+    private int newCount;
+    private Long latestNotificationId;
+    private String latestTitle;
+    private Notification.NotificationType latestType;
+    private Notification.NotificationPriority highestPriority;
+    private long unreadCount;
+    private long highPriorityUnreadCount;
+    private long urgentPriorityUnreadCount;
+}
@@ -12,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class NotificationResponse {
 
     private Long id;
@@ -29,12 +29,25 @@ public class NotificationResponse {
     private String recipientName;
     private String senderName;
     private Boolean isExpired;
+    private Integer groupCount; // > 1 when several events were merged into this digest
+
+    /**
+     * Constructor used by the projection queries in NotificationRepository
+     */
+    public NotificationResponse(Long id, String title, String message, Notification.NotificationType type,
+            Notification.NotificationPriority priority, Boolean isRead, LocalDateTime readAt,
+            LocalDateTime createdAt, LocalDateTime expiresAt, String actionUrl, String actionLabel,
+            String recipientName, String senderName, Integer groupCount) {
+        this(id, title, digestMessage(message, groupCount), type, priority, isRead, readAt, createdAt, expiresAt,
+                actionUrl, actionLabel, recipientName, senderName,
+                expiresAt != null && LocalDateTime.now().isAfter(expiresAt), groupCount);
+    }
 
     public static NotificationResponse fromNotification(Notification notification) {
         return NotificationResponse.builder()
                 .id(notification.getId())
                 .title(notification.getTitle())
-                .message(notification.getMessage())
+                .message(digestMessage(notification.getMessage(), notification.getGroupCount()))
                 .type(notification.getType())
                 .priority(notification.getPriority())
                 .isRead(notification.getIsRead())
@@ -46,6 +59,17 @@ public class NotificationResponse {
                 .recipientName(notification.getRecipientName())
                 .senderName(notification.getSenderName())
                 .isExpired(notification.isExpired())
+                .groupCount(notification.getGroupCount())
                 .build();
     }
+
+    // A digest stores only its latest event's body; the count of merged events goes in front
+    private static String digestMessage(String message, Integer groupCount) {
+        if (groupCount == null || groupCount < 2) {
+            return message;
+        }
+        return message != null && !message.isBlank()
+                ? groupCount + " updates. Latest: " + message
+                : groupCount + " updates";
+    }
 }
@@ -0,0 +1,50 @@
+package com.ems.ems_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.ems.ems_backend.model.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Message content shared by every recipient of a broadcast.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationTemplate {
+
+    private Long senderId; // Optional, null for system notifications
+
+    private String title;
+
+    private String message;
+
+    @Builder.Default
+    private Notification.NotificationType type = Notification.NotificationType.INFO;
+
+    @Builder.Default
+    private Notification.NotificationPriority priority = Notification.NotificationPriority.NORMAL;
+
+    private LocalDateTime expiresAt;
+
+    private String actionUrl;
+
+    private String actionLabel;
+
+    private String groupKey; // Optional digest key; null lets the type decide
+
+    public static NotificationTemplate system(String title, String message,
+            Notification.NotificationType type, Notification.NotificationPriority priority) {
+        return NotificationTemplate.builder()
+                .title(title)
+                .message(message)
+                .type(type)
+                .priority(priority)
+                .build();
+    }
+}
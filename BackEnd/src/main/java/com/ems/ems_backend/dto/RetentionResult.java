@@ -0,0 +1,35 @@
+package com.ems.ems_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RetentionResult {
+
+    private String policy;
+    private long deleted;
+    private long archived;
+    private int chunks;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private boolean completed; // false when the run stopped at its max runtime
+
+    public static RetentionResult of(String policy, long deleted, long archived, int chunks,
+            long elapsedNanos, boolean completed) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return RetentionResult.builder()
+                .policy(policy)
+                .deleted(deleted)
+                .archived(archived)
+                .chunks(chunks)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(seconds > 0 ? deleted / seconds : deleted)
+                .completed(completed)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ems.ems_backend.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.model.Department;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA listener on {@link Department} that publishes a {@link DepartmentChangedEvent} for every
+ * write made through the persistence context
+ */
+@Component
+@RequiredArgsConstructor
+public class DepartmentChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Department department) {
+        publisher.publishEvent(new DepartmentChangedEvent(department.getId()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.ems.ems_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A department row was inserted, updated or deleted; id is null when several changed at once
+ */
+@Getter
+@AllArgsConstructor
+public class DepartmentChangedEvent {
+
+    private final Long id;
+}
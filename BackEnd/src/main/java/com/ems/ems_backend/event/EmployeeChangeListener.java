@@ -0,0 +1,34 @@
+package com.ems.ems_backend.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.model.Employee;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA listener on {@link Employee} that publishes an {@link EmployeeChangedEvent} for every
+ * insert, update and delete made through the persistence context. Bulk JDBC writes bypass it
+ * and are picked up by the periodic incremental refresh instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Employee employee) {
+        publisher.publishEvent(EmployeeChangedEvent.saved(employee));
+    }
+
+    @PostRemove
+    public void onRemoved(Employee employee) {
+        publisher.publishEvent(EmployeeChangedEvent.deleted(employee));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ems.ems_backend.event;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.Hibernate;
+
+import com.ems.ems_backend.model.Department;
+import com.ems.ems_backend.model.Employee;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Snapshot of an employee row as written, for in-memory indexes that follow the table.
+ * Listeners should apply it after the writing transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+
+    private final Long id;
+    private final boolean deleted;
+    private final String firstName;
+    private final String lastName;
+    private final String employeeId;
+    private final String email;
+    private final String department;      // Legacy string column
+    private final Long departmentId;
+    private final String departmentName;  // Null when the department was not loaded
+    private final String position;
+    private final Employee.Status status;
+    private final LocalDateTime updatedAt;
+
+    public static EmployeeChangedEvent saved(Employee employee) {
+        Department dept = employee.getDepartmentEntity();
+        boolean loaded = dept != null && Hibernate.isInitialized(dept);
+        return new EmployeeChangedEvent(employee.getId(), false, employee.getFirstName(), employee.getLastName(),
+                employee.getEmployeeId(), employee.getEmail(), employee.getDepartment(),
+                dept != null ? dept.getId() : null, loaded ? dept.getName() : null,
+                employee.getPosition(), employee.getStatus(), employee.getUpdatedAt());
+    }
+
+    public static EmployeeChangedEvent deleted(Employee employee) {
+        return new EmployeeChangedEvent(employee.getId(), true, null, null, null, null, null, null, null, null,
+                null, employee.getUpdatedAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ems.ems_backend.event;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ems.ems_backend.model.Department;
+import com.ems.ems_backend.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JPA listener on {@link Employee} that keeps department_id authoritative. Clients still send
+ * the department by name; before every insert and update the name is resolved to the
+ * department it names and linked, so queries can filter on the indexed foreign key alone.
+ * A name that matches no department leaves an existing link in place, and the string column
+ * is then rewritten from the linked department.
+ */
+@Component
+public class EmployeeDepartmentLinker {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeDepartmentLinker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void link(Employee employee) {
+        Department linked = employee.getDepartmentEntity();
+        String name = employee.getDepartment();
+        if (name == null || name.isBlank()) {
+            employee.setDepartment(linked != null ? linked.getName() : null);
+            return;
+        }
+        // Plain JDBC on the unique name index: a repository query here would trigger a nested flush
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM departments WHERE name = ?", Long.class, name.trim());
+        if (!ids.isEmpty()) {
+            if (linked == null || !ids.get(0).equals(linked.getId())) {
+                employee.setDepartmentEntity(entityManager.getReference(Department.class, ids.get(0)));
+            }
+            employee.setDepartment(name.trim());
+        } else if (linked != null) {
+            employee.setDepartment(linked.getName());
+        }
+    }
+}
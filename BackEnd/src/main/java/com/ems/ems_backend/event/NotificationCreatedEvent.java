@@ -0,0 +1,29 @@
+package com.ems.ems_backend.event;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.ems.ems_backend.model.Notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when notifications are written, for one recipient or for a whole broadcast.
+ * Listeners that push to clients should run after the creating transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationCreatedEvent {
+
+    private final Collection<Long> recipientIds;
+    private final Long notificationId; // Null for broadcasts, which write one row per recipient
+    private final String title;
+    private final Notification.NotificationType type;
+    private final Notification.NotificationPriority priority;
+
+    public static NotificationCreatedEvent single(Notification notification) {
+        return new NotificationCreatedEvent(List.of(notification.getRecipient().getId()), notification.getId(),
+                notification.getTitle(), notification.getType(), notification.getPriority());
+    }
+}
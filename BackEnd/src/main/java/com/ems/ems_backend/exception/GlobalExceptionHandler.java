@@ -1,13 +1,18 @@
 package com.ems.ems_backend.exception;
 
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.ErrorResponse;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -19,13 +24,17 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String,Object>> handleAny(Exception ex) {
-        ex.printStackTrace();
+        // Spring MVC's own exceptions (missing parameter, unsupported media type, upload too large, ...) carry their status
+        HttpStatusCode status = ex instanceof ErrorResponse error ? error.getStatusCode() : HttpStatus.INTERNAL_SERVER_ERROR;
+        if (status.is5xxServerError()) {
+            ex.printStackTrace();
+        }
         Map<String,Object> body = new LinkedHashMap<>();
         body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+        body.put("status", status.value());
         body.put("error", ex.getClass().getSimpleName());
         body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(body, status);
     }
 
     @ExceptionHandler(BadCredentialsException.class)
@@ -122,6 +131,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    // Parameters that do not convert (size=abc, an unknown enum), unknown sort properties and unreadable JSON bodies
+    @ExceptionHandler({TypeMismatchException.class, PropertyReferenceException.class, HttpMessageNotReadableException.class})
+    public ResponseEntity<Map<String,Object>> onUnreadableRequest(Exception ex) {
+        Map<String,Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Invalid Request");
+        body.put("message", ex instanceof HttpMessageNotReadableException ? "Malformed request body" : ex.getMessage());
+        return ResponseEntity.badRequest().body(body);
+    }
+
     private Map<String, Object> getDemoCredentials() {
         Map<String, Object> demoAccounts = new LinkedHashMap<>();
 
@@ -0,0 +1,201 @@
+package com.ems.ems_backend.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compact column-oriented file for analytics, laid out like a Parquet row group without the
+ * dependency. Rows are buffered into groups of {@code rowGroupSize}; each group is written
+ * column by column, so a reader can skip the columns it does not need.
+ *
+ * <pre>
+ * file      = "EMSC" version(1) varint(columns) { string(name) byte(type) } group* varint(0) int64(rows) "EMSC"
+ * group     = varint(rows) { varint(length) chunk }   one chunk per column, in schema order
+ * chunk     = presence bitmap (1 bit per row, set = not null) then the non-null values:
+ *   LONG      zigzag varint delta from the previous value
+ *   DATE      as LONG on the epoch day
+ *   TIMESTAMP as LONG on epoch milliseconds (UTC)
+ *   DOUBLE    8-byte IEEE 754, big-endian
+ *   BOOLEAN   value bitmap
+ *   STRING    byte(1) varint(dictionary size) string* varint(index)*   when values repeat
+ *             byte(0) string*                                          otherwise
+ * string    = varint(UTF-8 length) bytes
+ * </pre>
+ */
+public class ColumnarExportWriter implements ExportWriter {
+
+    private static final byte[] MAGIC = "EMSC".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+    private List<ExportColumn> columns;
+    private Object[][] group;
+    private int rows;
+    private long totalRows;
+
+    public ColumnarExportWriter(OutputStream out, int rowGroupSize) {
+        this.out = new DataOutputStream(out);
+        this.rowGroupSize = rowGroupSize;
+    }
+
+    @Override
+    public void begin(List<ExportColumn> columns) throws IOException {
+        this.columns = columns;
+        this.group = new Object[columns.size()][rowGroupSize];
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        writeVarint(out, columns.size());
+        for (ExportColumn column : columns) {
+            writeString(out, column.name());
+            out.writeByte(column.type().ordinal());
+        }
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        for (int c = 0; c < values.length; c++) {
+            group[c][rows] = values[c];
+        }
+        if (++rows == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushGroup();
+        writeVarint(out, 0);
+        out.writeLong(totalRows);
+        out.write(MAGIC);
+        out.flush();
+    }
+
+    private void flushGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        writeVarint(out, rows);
+        for (int c = 0; c < columns.size(); c++) {
+            chunk.reset();
+            DataOutputStream data = new DataOutputStream(chunk);
+            encode(data, columns.get(c).type(), group[c]);
+            data.flush();
+            writeVarint(out, chunk.size());
+            chunk.writeTo(out);
+            Arrays.fill(group[c], 0, rows, null);
+        }
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private void encode(DataOutputStream data, ExportColumn.Type type, Object[] values) throws IOException {
+        writeBitmap(data, values, v -> v != null);
+        switch (type) {
+            case LONG, DATE, TIMESTAMP -> {
+                long previous = 0;
+                for (int r = 0; r < rows; r++) {
+                    if (values[r] != null) {
+                        long value = asLong(values[r]);
+                        writeVarint(data, (value - previous) << 1 ^ (value - previous) >> 63);
+                        previous = value;
+                    }
+                }
+            }
+            case DOUBLE -> {
+                for (int r = 0; r < rows; r++) {
+                    if (values[r] != null) {
+                        data.writeDouble((Double) values[r]);
+                    }
+                }
+            }
+            case BOOLEAN -> writeBitmap(data, values, v -> Boolean.TRUE.equals(v));
+            case STRING -> encodeStrings(data, values);
+        }
+    }
+
+    private void encodeStrings(DataOutputStream data, Object[] values) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int present = 0;
+        for (int r = 0; r < rows; r++) {
+            if (values[r] != null) {
+                present++;
+                dictionary.putIfAbsent((String) values[r], dictionary.size());
+            }
+        }
+        if (dictionary.size() * 2 > present) {
+            data.writeByte(0);
+            for (int r = 0; r < rows; r++) {
+                if (values[r] != null) {
+                    writeString(data, (String) values[r]);
+                }
+            }
+            return;
+        }
+        data.writeByte(1);
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((value, index) -> entries[index] = value);
+        writeVarint(data, entries.length);
+        for (String entry : entries) {
+            writeString(data, entry);
+        }
+        for (int r = 0; r < rows; r++) {
+            if (values[r] != null) {
+                writeVarint(data, dictionary.get(values[r]));
+            }
+        }
+    }
+
+    private void writeBitmap(DataOutputStream data, Object[] values, Predicate<Object> bit)
+            throws IOException {
+        int current = 0;
+        for (int r = 0; r < rows; r++) {
+            if (bit.test(values[r])) {
+                current |= 1 << (r & 7);
+            }
+            if ((r & 7) == 7) {
+                data.writeByte(current);
+                current = 0;
+            }
+        }
+        if ((rows & 7) != 0) {
+            data.writeByte(current);
+        }
+    }
+
+    private static long asLong(Object value) {
+        if (value instanceof LocalDate date) {
+            return date.toEpochDay();
+        }
+        if (value instanceof LocalDateTime timestamp) {
+            return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        return (Long) value;
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(data, bytes.length);
+        data.write(bytes);
+    }
+
+    private static void writeVarint(DataOutputStream data, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            data.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte((int) value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ems.ems_backend.export;
+
+/**
+ * One exported column: its header name, value type and the SQL expression that selects it
+ */
+public record ExportColumn(String name, Type type, String expression) {
+
+    public enum Type {
+        STRING, LONG, DOUBLE, BOOLEAN, DATE, TIMESTAMP
+    }
+
+    public static ExportColumn string(String name, String expression) {
+        return new ExportColumn(name, Type.STRING, expression);
+    }
+
+    public static ExportColumn number(String name, String expression) {
+        return new ExportColumn(name, Type.LONG, expression);
+    }
+
+    public static ExportColumn decimal(String name, String expression) {
+        return new ExportColumn(name, Type.DOUBLE, expression);
+    }
+
+    public static ExportColumn flag(String name, String expression) {
+        return new ExportColumn(name, Type.BOOLEAN, expression);
+    }
+
+    public static ExportColumn date(String name, String expression) {
+        return new ExportColumn(name, Type.DATE, expression);
+    }
+
+    public static ExportColumn timestamp(String name, String expression) {
+        return new ExportColumn(name, Type.TIMESTAMP, expression);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ems.ems_backend.export;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static com.ems.ems_backend.export.ExportColumn.date;
+import static com.ems.ems_backend.export.ExportColumn.decimal;
+import static com.ems.ems_backend.export.ExportColumn.flag;
+import static com.ems.ems_backend.export.ExportColumn.number;
+import static com.ems.ems_backend.export.ExportColumn.string;
+import static com.ems.ems_backend.export.ExportColumn.timestamp;
+
+/**
+ * What can be exported. Both datasets read employees joined to their department and user
+ * account in one query, so each row is complete without follow-up lookups.
+ */
+public enum ExportDataset {
+
+    EMPLOYEES(List.of(
+            number("id", "e.id"),
+            string("employee_id", "e.employee_id"),
+            string("first_name", "e.first_name"),
+            string("last_name", "e.last_name"),
+            string("email", "e.email"),
+            string("phone", "e.phone"),
+            string("address", "e.address"),
+            string("position", "e.position"),
+            number("department_id", "e.department_id"),
+            string("department", "COALESCE(d.name, e.department)"),
+            string("status", "e.status"),
+            date("hire_date", "e.hire_date"),
+            date("birth_date", "e.birth_date"),
+            number("annual_vacation_days", "e.annual_vacation_days"),
+            number("user_id", "u.id"),
+            string("username", "u.username"),
+            string("role", "u.role"),
+            flag("user_enabled", "u.enabled"),
+            timestamp("created_at", "e.created_at"),
+            timestamp("updated_at", "e.updated_at"))),
+
+    PAYROLL(List.of(
+            number("id", "e.id"),
+            string("employee_id", "e.employee_id"),
+            string("first_name", "e.first_name"),
+            string("last_name", "e.last_name"),
+            string("position", "e.position"),
+            string("status", "e.status"),
+            number("department_id", "e.department_id"),
+            string("department", "COALESCE(d.name, e.department)"),
+            decimal("salary", "e.salary"),
+            decimal("bonus", "e.bonus"),
+            decimal("total_compensation", "COALESCE(e.salary, 0) + COALESCE(e.bonus, 0)"),
+            decimal("department_budget_allocated", "d.budget_allocated"),
+            decimal("department_budget_spent", "d.budget_spent"),
+            string("username", "u.username")));
+
+    private final List<ExportColumn> columns;
+    private final String select;
+
+    ExportDataset(List<ExportColumn> columns) {
+        this.columns = columns;
+        this.select = columns.stream().map(ExportColumn::expression).collect(Collectors.joining(", ", "SELECT ",
+                " FROM employees e LEFT JOIN departments d ON d.id = e.department_id LEFT JOIN users u ON u.id = e.user_id"));
+    }
+
+    public List<ExportColumn> columns() {
+        return columns;
+    }
+
+    /**
+     * SELECT ... FROM ... with the joins; the caller appends WHERE and ORDER BY
+     */
+    public String select() {
+        return select;
+    }
+
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ExportDataset from(String value) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.name().equalsIgnoreCase(value)) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export: " + value + " (expected employees or payroll)");
+    }
+}
@@ -0,0 +1,37 @@
+package com.ems.ems_backend.export;
+
+/**
+ * Output formats; columnar is {@link ColumnarExportWriter}'s compact binary layout
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", ".csv"),
+    NDJSON("application/x-ndjson", ".ndjson"),
+    JSON("application/json", ".json"),
+    COLUMNAR("application/octet-stream", ".emsc");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + value + " (expected csv, ndjson, json or columnar)");
+    }
+}
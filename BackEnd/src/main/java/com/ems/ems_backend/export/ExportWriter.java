@@ -0,0 +1,21 @@
+package com.ems.ems_backend.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives rows one at a time and encodes them onto an output stream. Implementations hold at
+ * most a bounded buffer, and {@link #finish()} flushes without closing the underlying stream.
+ */
+public interface ExportWriter {
+
+    void begin(List<ExportColumn> columns) throws IOException;
+
+    /**
+     * Values are in column order, typed as String, Long, Double, Boolean, LocalDate or
+     * LocalDateTime (or null); the array is reused for the next row
+     */
+    void row(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
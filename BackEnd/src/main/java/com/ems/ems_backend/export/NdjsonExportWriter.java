@@ -0,0 +1,70 @@
+package com.ems.ems_backend.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * One JSON object per line, keyed by column name, or with {@code array} the same objects in a
+ * single JSON array; dates and timestamps are ISO-8601 strings
+ */
+public class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator json;
+    private final boolean array;
+    private List<ExportColumn> columns;
+    private boolean written;
+
+    public NdjsonExportWriter(JsonFactory factory, OutputStream out, boolean array) throws IOException {
+        this.json = factory.createGenerator(out);
+        this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.array = array;
+        if (!array) {
+            this.json.setRootValueSeparator(new SerializedString("\n"));
+        }
+    }
+
+    @Override
+    public void begin(List<ExportColumn> columns) throws IOException {
+        this.columns = columns;
+        if (array) {
+            json.writeStartArray();
+        }
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            json.writeFieldName(columns.get(i).name());
+            Object value = values[i];
+            if (value == null) {
+                json.writeNull();
+            } else if (value instanceof Long l) {
+                json.writeNumber(l);
+            } else if (value instanceof Double d) {
+                json.writeNumber(d);
+            } else if (value instanceof Boolean b) {
+                json.writeBoolean(b);
+            } else {
+                json.writeString(value.toString());
+            }
+        }
+        json.writeEndObject();
+        written = true;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (array) {
+            json.writeEndArray();
+        } else if (written) {
+            json.writeRaw('\n');
+        }
+        json.close();
+    }
+}
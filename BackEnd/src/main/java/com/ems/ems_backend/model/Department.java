@@ -3,6 +3,9 @@ package com.ems.ems_backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import com.ems.ems_backend.event.DepartmentChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +15,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "departments")
+@EntityListeners(DepartmentChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,7 +40,9 @@ public class Department {
     @JoinColumn(name = "department_head_id", insertable = false, updatable = false)
     private Employee departmentHead;
 
-    @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // Not cascaded: deleting a department must not delete its employees
+    @JsonIgnore
+    @OneToMany(mappedBy = "departmentEntity", fetch = FetchType.LAZY)
     private List<Employee> employees;
 
     @Column(name = "budget_allocated")
@@ -64,10 +70,6 @@ public class Department {
     }
 
     // Convenience methods
-    public int getEmployeeCount() {
-        return employees != null ? employees.size() : 0;
-    }
-
     public Double getRemainingBudget() {
         return budgetAllocated - budgetSpent;
     }
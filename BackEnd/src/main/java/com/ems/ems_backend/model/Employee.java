@@ -3,17 +3,22 @@ package com.ems.ems_backend.model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.ems.ems_backend.event.EmployeeChangeListener;
+import com.ems.ems_backend.event.EmployeeDepartmentLinker;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
@@ -26,7 +31,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    // Daily birthday / anniversary lookup
+    @Index(name = "idx_employees_birth_month_day", columnList = "birth_month_day"),
+    @Index(name = "idx_employees_hire_month_day", columnList = "hire_month_day"),
+    // Incremental search index refresh
+    @Index(name = "idx_employees_updated_at", columnList = "updated_at"),
+    // Department lookups and counts filter on the foreign key, often with status
+    @Index(name = "idx_employees_department_status", columnList = "department_id, status")
+})
+@EntityListeners({EmployeeDepartmentLinker.class, EmployeeChangeListener.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,7 +65,7 @@ public class Employee {
     @Column(name = "employee_id", unique = true)
     private String employeeId;
 
-    // Keep string department for backward compatibility
+    // Compatibility copy of the department name, kept in step with department_id (see EmployeeDepartmentLinker)
     @Size(max = 100)
     private String department;
 
@@ -75,6 +89,17 @@ public class Employee {
     @Column(name = "birth_date")
     private LocalDate birthDate;
 
+    // month * 100 + day of birthDate / hireDate, computed by MySQL (e.g. 229 for Feb 29)
+    @JsonIgnore
+    @Column(name = "birth_month_day", insertable = false, updatable = false,
+            columnDefinition = "SMALLINT GENERATED ALWAYS AS (MONTH(birth_date) * 100 + DAYOFMONTH(birth_date)) STORED")
+    private Integer birthMonthDay;
+
+    @JsonIgnore
+    @Column(name = "hire_month_day", insertable = false, updatable = false,
+            columnDefinition = "SMALLINT GENERATED ALWAYS AS (MONTH(hire_date) * 100 + DAYOFMONTH(hire_date)) STORED")
+    private Integer hireMonthDay;
+
     private Double salary;
 
     private Double bonus;
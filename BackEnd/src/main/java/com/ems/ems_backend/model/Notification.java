@@ -2,6 +2,8 @@ package com.ems.ems_backend.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
@@ -12,11 +14,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
@@ -24,7 +26,22 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    // Inbox listing, keyset paging, summary and date-range queries
+    @Index(name = "idx_notifications_recipient_created", columnList = "recipient_id, created_at"),
+    // Unread listing, unread counts and mark-all-as-read
+    @Index(name = "idx_notifications_recipient_read_created", columnList = "recipient_id, is_read, created_at"),
+    // Counter rebuild aggregate and unread-by-priority lookups (covering)
+    @Index(name = "idx_notifications_recipient_read_priority", columnList = "recipient_id, is_read, priority"),
+    @Index(name = "idx_notifications_recipient_type_created", columnList = "recipient_id, type, created_at"),
+    @Index(name = "idx_notifications_recipient_priority_created", columnList = "recipient_id, priority, created_at"),
+    @Index(name = "idx_notifications_sender_created", columnList = "sender_id, created_at"),
+    // Open digest lookup for coalescing
+    @Index(name = "idx_notifications_recipient_group", columnList = "recipient_id, group_key, is_read, created_at"),
+    // Retention jobs
+    @Index(name = "idx_notifications_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_notifications_read_read_at", columnList = "is_read, read_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,16 +63,20 @@ public class Notification {
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User sender;
 
-    @NotBlank
+    // Title, message and action are null when the body lives in sharedMessage
     @Size(max = 200)
-    @Column(name = "title", nullable = false)
+    @Column(name = "title")
     private String title;
 
-    @NotBlank
     @Size(max = 1000)
-    @Column(name = "message", nullable = false)
+    @Column(name = "message")
     private String message;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "message_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private NotificationMessage sharedMessage;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false)
     private NotificationType type = NotificationType.INFO;
@@ -84,6 +105,15 @@ public class Notification {
     @Column(name = "action_label")
     private String actionLabel;
 
+    // Digest grouping: events with the same key for a recipient merge into one unread row
+    @Size(max = 150)
+    @Column(name = "group_key", length = 150)
+    private String groupKey;
+
+    @ColumnDefault("1")
+    @Column(name = "group_count", nullable = false)
+    private Integer groupCount = 1;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -124,6 +154,23 @@ public class Notification {
         return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
     }
 
+    // Body getters read through to the shared message for broadcast rows
+    public String getTitle() {
+        return title != null || sharedMessage == null ? title : sharedMessage.getTitle();
+    }
+
+    public String getMessage() {
+        return message != null || sharedMessage == null ? message : sharedMessage.getMessage();
+    }
+
+    public String getActionUrl() {
+        return actionUrl != null || sharedMessage == null ? actionUrl : sharedMessage.getActionUrl();
+    }
+
+    public String getActionLabel() {
+        return actionLabel != null || sharedMessage == null ? actionLabel : sharedMessage.getActionLabel();
+    }
+
     public String getRecipientName() {
         return recipient != null ? recipient.getUsername() : null;
     }
@@ -0,0 +1,60 @@
+package com.ems.ems_backend.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.BatchSize;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Message body stored once for a broadcast and referenced by every recipient row in {@code notifications}.
+ */
+@Entity
+@Table(name = "notification_message")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@BatchSize(size = 50)
+public class NotificationMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 200)
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @NotBlank
+    @Size(max = 1000)
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+
+    @Size(max = 100)
+    @Column(name = "action_url")
+    private String actionUrl;
+
+    @Size(max = 50)
+    @Column(name = "action_label")
+    private String actionLabel;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,152 @@
+package com.ems.ems_backend.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A notification waiting to be delivered. Rows are written in the same transaction as the
+ * business change that caused them and drained by {@code NotificationOutboxService}.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbox_status_lane_next_attempt", columnList = "status, lane, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 150)
+    @Column(name = "idempotency_key", nullable = false, unique = true, length = 150)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "audience_type", nullable = false, length = 20)
+    private AudienceType audienceType;
+
+    // Comma-separated user ids or role names, depending on audienceType
+    @Column(name = "audience", columnDefinition = "MEDIUMTEXT")
+    private String audience;
+
+    @Column(name = "sender_id")
+    private Long senderId;
+
+    @NotBlank
+    @Size(max = 200)
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @NotBlank
+    @Size(max = 1000)
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Notification.NotificationType type = Notification.NotificationType.INFO;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private Notification.NotificationPriority priority = Notification.NotificationPriority.NORMAL;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Size(max = 100)
+    @Column(name = "action_url")
+    private String actionUrl;
+
+    @Size(max = 50)
+    @Column(name = "action_label")
+    private String actionLabel;
+
+    @Size(max = 150)
+    @Column(name = "group_key", length = 150)
+    private String groupKey;
+
+    // Derived from priority when queued; each lane is drained by its own poller and executor
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'STANDARD'")
+    @Column(name = "lane", nullable = false, length = 10)
+    private Lane lane = Lane.STANDARD;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Size(max = 1000)
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "delivered_count")
+    private Integer deliveredCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+
+    public enum AudienceType {
+        USERS,
+        ROLES,
+        ALL_USERS
+    }
+
+    public enum Lane {
+        PRIORITY,
+        STANDARD;
+
+        public static Lane of(Notification.NotificationPriority priority) {
+            return priority == Notification.NotificationPriority.URGENT
+                    || priority == Notification.NotificationPriority.HIGH ? PRIORITY : STANDARD;
+        }
+    }
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        DELIVERED,
+        DEAD
+    }
+}
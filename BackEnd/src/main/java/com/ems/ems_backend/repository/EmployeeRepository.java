@@ -1,9 +1,16 @@
 package com.ems.ems_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,13 +20,15 @@ import com.ems.ems_backend.model.Employee;
 import com.ems.ems_backend.model.User;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
     Optional<Employee> findByEmployeeId(String employeeId);
 
-    // Support both string department and entity department
+    // Legacy string column; prefer the department_id queries below
     List<Employee> findByDepartment(String department);
     List<Employee> findByDepartmentEntity(Department department);
     List<Employee> findByDepartmentEntityId(Long departmentId);
+    long countByDepartmentEntityId(Long departmentId);
+    boolean existsByDepartmentEntityId(Long departmentId);
 
     List<Employee> findByStatus(Employee.Status status);
     Optional<Employee> findByUserId(Long userId);
@@ -32,26 +41,64 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user")
     List<Employee> findAllWithUsers();
 
+    // Filtered listing page; user and department are fetched with the page so serialization issues no extra selects
+    @Override
+    @EntityGraph(attributePaths = {"user", "departmentEntity"})
+    Page<Employee> findAll(Specification<Employee> spec, Pageable pageable);
+
+    // Employees for a set of ids (e.g. search hits), with user and department
+    @EntityGraph(attributePaths = {"user", "departmentEntity"})
+    List<Employee> findAllByIdIn(Collection<Long> ids);
+
     // Query to fetch employee by ID with associated user
     @Query("SELECT e FROM Employee e LEFT JOIN FETCH e.user WHERE e.id = :id")
     Optional<Employee> findByIdWithUser(@Param("id") Long id);
 
-    @Query("SELECT e FROM Employee e WHERE e.department = :department AND e.status = :status")
+    @Query("SELECT e FROM Employee e WHERE e.departmentEntity.id = (SELECT d.id FROM Department d WHERE d.name = :department) AND e.status = :status")
     List<Employee> findByDepartmentAndStatus(@Param("department") String department, @Param("status") Employee.Status status);
 
     // New query methods for department entity
     @Query("SELECT e FROM Employee e WHERE e.departmentEntity.name = :departmentName")
     List<Employee> findByDepartmentEntityName(@Param("departmentName") String departmentName);
 
-    @Query("SELECT e FROM Employee e WHERE (e.department = :departmentName OR e.departmentEntity.name = :departmentName)")
+    // By department name, resolved once through the unique name index and then matched on department_id only
+    @Query("SELECT e FROM Employee e WHERE e.departmentEntity.id = (SELECT d.id FROM Department d WHERE d.name = :departmentName)")
     List<Employee> findByDepartmentNameAll(@Param("departmentName") String departmentName);
 
+    // Birthday / anniversary lookups on the indexed month-day columns (month * 100 + day)
+    @Query("""
+        SELECT e FROM Employee e LEFT JOIN FETCH e.user
+        WHERE e.birthMonthDay IN :monthDays AND e.status <> :excluded
+        """)
+    List<Employee> findByBirthMonthDayIn(@Param("monthDays") Collection<Integer> monthDays,
+                                         @Param("excluded") Employee.Status excluded);
+
+    @Query("""
+        SELECT e FROM Employee e LEFT JOIN FETCH e.user
+        WHERE e.hireMonthDay IN :monthDays AND e.status <> :excluded
+        """)
+    List<Employee> findByHireMonthDayIn(@Param("monthDays") Collection<Integer> monthDays,
+                                        @Param("excluded") Employee.Status excluded);
+
+    default List<Employee> findActiveByBirthMonthDayIn(Collection<Integer> monthDays) {
+        return findByBirthMonthDayIn(monthDays, Employee.Status.INACTIVE);
+    }
+
+    default List<Employee> findActiveByHireMonthDayIn(Collection<Integer> monthDays) {
+        return findByHireMonthDayIn(monthDays, Employee.Status.INACTIVE);
+    }
+
     // Employee ID existence checks
     boolean existsByEmployeeId(String employeeId);
 
     // Count methods for department statistics
     int countByDepartment(String department);
 
-    @Query("SELECT COUNT(e) FROM Employee e WHERE e.department = :departmentName OR e.departmentEntity.name = :departmentName")
+    @Query("SELECT COUNT(e) FROM Employee e WHERE e.departmentEntity.id = (SELECT d.id FROM Department d WHERE d.name = :departmentName)")
     int countByDepartmentNameAll(@Param("departmentName") String departmentName);
+
+    // Keeps the compatibility name column in step after a department is renamed
+    @Modifying
+    @Query("UPDATE Employee e SET e.department = :name, e.updatedAt = CURRENT_TIMESTAMP WHERE e.departmentEntity.id = :departmentId AND (e.department IS NULL OR e.department <> :name)")
+    int syncDepartmentName(@Param("departmentId") Long departmentId, @Param("name") String name);
 }
@@ -0,0 +1,41 @@
+package com.ems.ems_backend.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ems.ems_backend.model.NotificationCounter;
+
+@Repository
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    // Apply a relative change; rows that do not exist yet are rebuilt on first read
+    @Modifying
+    @Query("""
+        UPDATE NotificationCounter c
+        SET c.totalCount = c.totalCount + :total,
+            c.unreadCount = c.unreadCount + :unread,
+            c.highUnreadCount = c.highUnreadCount + :highUnread,
+            c.urgentUnreadCount = c.urgentUnreadCount + :urgentUnread,
+            c.updatedAt = :now
+        WHERE c.userId = :userId
+        """)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("total") long total,
+                   @Param("unread") long unread,
+                   @Param("highUnread") long highUnread,
+                   @Param("urgentUnread") long urgentUnread,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE NotificationCounter c
+        SET c.unreadCount = 0, c.highUnreadCount = 0, c.urgentUnreadCount = 0, c.updatedAt = :now
+        WHERE c.userId = :userId
+        """)
+    int resetUnread(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,93 @@
+package com.ems.ems_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ems.ems_backend.model.NotificationOutbox;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    long countByStatus(NotificationOutbox.Status status);
+
+    // Row lock held while delivering, so a re-claimed stale entry cannot be sent twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.id = :id")
+    Optional<NotificationOutbox> findByIdForUpdate(@Param("id") Long id);
+
+    // Entries of one lane whose next attempt is due, oldest first
+    @Query("""
+        SELECT o.id FROM NotificationOutbox o
+        WHERE o.status = :status AND o.lane = :lane AND o.nextAttemptAt <= :now
+        ORDER BY o.nextAttemptAt
+        """)
+    List<Long> findIdsByStatusAndLaneDue(@Param("status") NotificationOutbox.Status status,
+                                         @Param("lane") NotificationOutbox.Lane lane,
+                                         @Param("now") LocalDateTime now,
+                                         Pageable pageable);
+
+    // Move an entry between states; returns 0 if it was not in the expected state
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutbox o
+        SET o.status = :to, o.claimedAt = :now
+        WHERE o.id = :id AND o.status = :from
+        """)
+    int transition(@Param("id") Long id,
+                   @Param("from") NotificationOutbox.Status from,
+                   @Param("to") NotificationOutbox.Status to,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutbox o
+        SET o.status = :to, o.claimedAt = NULL
+        WHERE o.status = :from AND o.claimedAt < :claimedBefore
+        """)
+    int transitionStale(@Param("from") NotificationOutbox.Status from,
+                        @Param("to") NotificationOutbox.Status to,
+                        @Param("claimedBefore") LocalDateTime claimedBefore);
+
+    @Modifying
+    @Query("""
+        UPDATE NotificationOutbox o
+        SET o.status = :to, o.claimedAt = NULL
+        WHERE o.id IN :ids AND o.status = :from
+        """)
+    int transitionAll(@Param("ids") Collection<Long> ids,
+                      @Param("from") NotificationOutbox.Status from,
+                      @Param("to") NotificationOutbox.Status to);
+
+    default List<Long> findDueIds(NotificationOutbox.Lane lane, LocalDateTime now, Pageable pageable) {
+        return findIdsByStatusAndLaneDue(NotificationOutbox.Status.PENDING, lane, now, pageable);
+    }
+
+    // Claim an entry for this node; returns 0 if another poller got it first
+    default int claim(Long id, LocalDateTime now) {
+        return transition(id, NotificationOutbox.Status.PENDING, NotificationOutbox.Status.PROCESSING, now);
+    }
+
+    // Claims this node gave up on go back to the queue; entries already delivered are left alone
+    default int releaseClaims(Collection<Long> ids) {
+        return transitionAll(ids, NotificationOutbox.Status.PROCESSING, NotificationOutbox.Status.PENDING);
+    }
+
+    // Entries left in PROCESSING by a crashed node go back to the queue
+    default int releaseStaleClaims(LocalDateTime claimedBefore) {
+        return transitionStale(NotificationOutbox.Status.PROCESSING, NotificationOutbox.Status.PENDING, claimedBefore);
+    }
+}
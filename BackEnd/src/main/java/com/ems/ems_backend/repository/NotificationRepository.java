@@ -1,7 +1,9 @@
 package com.ems.ems_backend.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,12 +13,27 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ems.ems_backend.dto.NotificationResponse;
 import com.ems.ems_backend.model.Notification;
 import com.ems.ems_backend.model.User;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    // Read-side projection: exactly the NotificationResponse columns, with usernames and the
+    // shared body joined in, so a page is one statement and no entity or proxy is loaded
+    String RESPONSE_VIEW = """
+        SELECT new com.ems.ems_backend.dto.NotificationResponse(
+            n.id, COALESCE(n.title, m.title), COALESCE(n.message, m.message), n.type, n.priority,
+            n.isRead, n.readAt, n.createdAt, n.expiresAt,
+            COALESCE(n.actionUrl, m.actionUrl), COALESCE(n.actionLabel, m.actionLabel),
+            r.username, COALESCE(s.username, 'System'), n.groupCount)
+        FROM Notification n
+        JOIN n.recipient r
+        LEFT JOIN n.sender s
+        LEFT JOIN n.sharedMessage m
+        """;
+
     // Find notifications by recipient
     Page<Notification> findByRecipientOrderByCreatedAtDesc(User recipient, Pageable pageable);
     
@@ -63,15 +80,48 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readTime WHERE n.recipient = :recipient AND n.isRead = false")
     int markAllAsReadForUser(@Param("recipient") User recipient, @Param("readTime") LocalDateTime readTime);
 
-    // Delete old read notifications
+    // Bulk operations; the recipient predicate doubles as the ownership check
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.isRead = true AND n.readAt < :cutoffDate")
-    int deleteOldReadNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query("""
+        UPDATE Notification n SET n.isRead = true, n.readAt = :readTime
+        WHERE n.recipient.id = :recipientId AND n.id IN :ids AND n.isRead = false
+        """)
+    int markAsReadByIds(@Param("recipientId") Long recipientId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("readTime") LocalDateTime readTime);
 
-    // Delete expired notifications
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.expiresAt IS NOT NULL AND n.expiresAt < :currentTime")
-    int deleteExpiredNotifications(@Param("currentTime") LocalDateTime currentTime);
+    @Query("""
+        UPDATE Notification n SET n.isRead = true, n.readAt = :readTime
+        WHERE n.recipient.id = :recipientId AND n.isRead = false
+        AND (:type IS NULL OR n.type = :type)
+        AND (:priority IS NULL OR n.priority = :priority)
+        AND (:createdBefore IS NULL OR n.createdAt < :createdBefore)
+        """)
+    int markAsReadByFilter(@Param("recipientId") Long recipientId,
+                           @Param("type") Notification.NotificationType type,
+                           @Param("priority") Notification.NotificationPriority priority,
+                           @Param("createdBefore") LocalDateTime createdBefore,
+                           @Param("readTime") LocalDateTime readTime);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.recipient.id = :recipientId AND n.id IN :ids")
+    int deleteByIds(@Param("recipientId") Long recipientId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        DELETE FROM Notification n
+        WHERE n.recipient.id = :recipientId
+        AND (:isRead IS NULL OR n.isRead = :isRead)
+        AND (:type IS NULL OR n.type = :type)
+        AND (:priority IS NULL OR n.priority = :priority)
+        AND (:createdBefore IS NULL OR n.createdAt < :createdBefore)
+        """)
+    int deleteByFilter(@Param("recipientId") Long recipientId,
+                       @Param("isRead") Boolean isRead,
+                       @Param("type") Notification.NotificationType type,
+                       @Param("priority") Notification.NotificationPriority priority,
+                       @Param("createdBefore") LocalDateTime createdBefore);
 
     // Find notifications by sender
     List<Notification> findBySenderOrderByCreatedAtDesc(User sender);
@@ -98,7 +148,102 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
         Pageable pageable
     );
 
+    // Inbox page; the keyset variant below returns a List so no count query runs
+    @Query(value = RESPONSE_VIEW + """
+        WHERE r.id = :recipientId
+        ORDER BY n.createdAt DESC, n.id DESC
+        """,
+        countQuery = "SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :recipientId")
+    Page<NotificationResponse> findInboxView(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    @Query(RESPONSE_VIEW + """
+        WHERE r.id = :recipientId
+        AND (:cursorCreatedAt IS NULL
+             OR n.createdAt < :cursorCreatedAt
+             OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId))
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<NotificationResponse> findInboxViewAfter(
+        @Param("recipientId") Long recipientId,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    @Query(RESPONSE_VIEW + """
+        WHERE r.id = :recipientId AND n.isRead = false
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<NotificationResponse> findUnreadView(@Param("recipientId") Long recipientId);
+
+    // Latest notifications for the summary, bounded by the pageable so the inbox is never materialized
+    @Query(RESPONSE_VIEW + """
+        WHERE r.id = :recipientId AND n.createdAt >= :since
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<NotificationResponse> findRecentView(
+        @Param("recipientId") Long recipientId,
+        @Param("since") LocalDateTime since,
+        Pageable pageable
+    );
+
+    @Query(value = RESPONSE_VIEW + """
+        WHERE r.id = :recipientId
+        AND (:isRead IS NULL OR n.isRead = :isRead)
+        AND (:type IS NULL OR n.type = :type)
+        AND (:priority IS NULL OR n.priority = :priority)
+        AND (n.expiresAt IS NULL OR n.expiresAt > :currentTime)
+        ORDER BY n.createdAt DESC, n.id DESC
+        """,
+        countQuery = """
+        SELECT COUNT(n) FROM Notification n
+        WHERE n.recipient.id = :recipientId
+        AND (:isRead IS NULL OR n.isRead = :isRead)
+        AND (:type IS NULL OR n.type = :type)
+        AND (:priority IS NULL OR n.priority = :priority)
+        AND (n.expiresAt IS NULL OR n.expiresAt > :currentTime)
+        """)
+    Page<NotificationResponse> findFilteredView(
+        @Param("recipientId") Long recipientId,
+        @Param("isRead") Boolean isRead,
+        @Param("type") Notification.NotificationType type,
+        @Param("priority") Notification.NotificationPriority priority,
+        @Param("currentTime") LocalDateTime currentTime,
+        Pageable pageable
+    );
+
+    @Query(RESPONSE_VIEW + """
+        WHERE r.id = :recipientId
+        AND (:isRead IS NULL OR n.isRead = :isRead)
+        AND (:type IS NULL OR n.type = :type)
+        AND (:priority IS NULL OR n.priority = :priority)
+        AND (n.expiresAt IS NULL OR n.expiresAt > :currentTime)
+        AND (:cursorCreatedAt IS NULL
+             OR n.createdAt < :cursorCreatedAt
+             OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId))
+        ORDER BY n.createdAt DESC, n.id DESC
+        """)
+    List<NotificationResponse> findFilteredViewAfter(
+        @Param("recipientId") Long recipientId,
+        @Param("isRead") Boolean isRead,
+        @Param("type") Notification.NotificationType type,
+        @Param("priority") Notification.NotificationPriority priority,
+        @Param("currentTime") LocalDateTime currentTime,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    @Query(RESPONSE_VIEW + "WHERE n.id = :id AND r.id = :recipientId")
+    Optional<NotificationResponse> findViewByIdAndRecipientId(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
     // Find recent notifications (last 7 days)
     @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient AND n.createdAt >= :sevenDaysAgo ORDER BY n.createdAt DESC")
     List<Notification> findRecentNotifications(@Param("recipient") User recipient, @Param("sevenDaysAgo") LocalDateTime sevenDaysAgo);
+
+    // Newest open digest of a group for a recipient
+    Optional<Notification> findTopByRecipientIdAndGroupKeyAndIsReadFalseOrderByCreatedAtDescIdDesc(
+        Long recipientId,
+        String groupKey
+    );
 }
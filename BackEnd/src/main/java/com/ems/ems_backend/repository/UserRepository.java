@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +31,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.role != 'SUPER_ADMIN' AND u.role = :role")
     List<User> findByRoleExcludingSuperAdmin(@Param("role") User.Role role);
+
+    // Id-only lookups for broadcasts, so recipients are never hydrated as entities
+    @Query("SELECT u.id FROM User u WHERE u.role = :role")
+    List<Long> findIdsByRole(@Param("role") User.Role role);
+
+    @Query("SELECT u.id FROM User u WHERE u.role IN :roles")
+    List<Long> findIdsByRoleIn(@Param("roles") Collection<User.Role> roles);
+
+    @Query("SELECT u.id FROM User u WHERE u.role != 'SUPER_ADMIN'")
+    List<Long> findAllIdsExcludingSuperAdmin();
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
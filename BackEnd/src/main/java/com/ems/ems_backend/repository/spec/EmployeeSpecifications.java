@@ -0,0 +1,64 @@
+package com.ems.ems_backend.repository.spec;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ems.ems_backend.dto.EmployeeFilter;
+import com.ems.ems_backend.model.Department;
+import com.ems.ems_backend.model.Employee;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+public class EmployeeSpecifications {
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        if (filter == null) return Specification.where(null);
+        return Specification.where(nameOrIdContains(filter.getQuery()))
+                .and(inDepartment(filter.getDepartment()))
+                .and(hasDepartmentId(filter.getDepartmentId()))
+                .and(hasPosition(filter.getPosition()))
+                .and(hasStatus(filter.getStatus()))
+                .and(hireDateBetween(filter.getHiredFrom(), filter.getHiredTo()));
+    }
+    public static Specification<Employee> nameOrIdContains(String query) {
+        return (root, cq, cb) -> {
+            if (query == null || query.isBlank()) return null;
+            String like = "%" + query.trim().toLowerCase() + "%";
+            return cb.or(cb.like(cb.lower(root.get("firstName")), like),
+                    cb.like(cb.lower(root.get("lastName")), like),
+                    cb.like(cb.lower(root.get("employeeId")), like),
+                    cb.like(cb.lower(root.get("email")), like));
+        };
+    }
+    // Resolves the name with a subquery on the unique name index and matches department_id only, like findByDepartmentNameAll
+    public static Specification<Employee> inDepartment(String department) {
+        return (root, cq, cb) -> {
+            if (department == null || department.isBlank()) return null;
+            Subquery<Long> id = cq.subquery(Long.class);
+            Root<Department> d = id.from(Department.class);
+            id.select(d.get("id")).where(cb.equal(d.get("name"), department));
+            return cb.equal(root.get("departmentEntity").get("id"), id);
+        };
+    }
+    public static Specification<Employee> hasDepartmentId(Long departmentId) {
+        return (root, cq, cb) -> departmentId == null ? null : cb.equal(root.get("departmentEntity").get("id"), departmentId);
+    }
+    public static Specification<Employee> hasPosition(String position) {
+        return (root, cq, cb) -> position == null || position.isBlank() ? null : cb.equal(root.get("position"), position);
+    }
+    public static Specification<Employee> hasStatus(Employee.Status status) {
+        return (root, cq, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+    public static Specification<Employee> hireDateBetween(LocalDate from, LocalDate to) {
+        return (root, cq, cb) -> {
+            if (from == null && to == null) return null;
+            if (from != null && to != null) return cb.between(root.get("hireDate"), from, to);
+            return from != null ? cb.greaterThanOrEqualTo(root.get("hireDate"), from)
+                    : cb.lessThanOrEqualTo(root.get("hireDate"), to);
+        };
+    }
+    public static Specification<Employee> idAfter(Long id) {
+        return (root, cq, cb) -> id == null ? null : cb.greaterThan(root.get("id"), id);
+    }
+}
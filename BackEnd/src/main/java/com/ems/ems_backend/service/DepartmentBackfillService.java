@@ -0,0 +1,136 @@
+package com.ems.ems_backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ems.ems_backend.dto.DepartmentBackfillResult;
+import com.ems.ems_backend.event.DepartmentChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves employees from the legacy department name column onto department_id. The first pass
+ * links unlinked rows whose name matches a department; the second rewrites the name column of
+ * linked rows from their department. Both walk the primary key in bounded ranges, each range in
+ * its own short transaction, and bump updated_at so the employee indexes pick the rows up.
+ * Runs are idempotent; once nothing is left each pass is a single range query.
+ */
+@Service
+@Slf4j
+public class DepartmentBackfillService {
+
+    private static final String NEXT_UNLINKED_SQL = """
+        SELECT id FROM employees
+        WHERE id > ? AND department_id IS NULL AND department IS NOT NULL AND department <> ''
+        ORDER BY id LIMIT ?
+        """;
+
+    private static final String LINK_RANGE_SQL = """
+        UPDATE employees e JOIN departments d ON d.name = e.department
+        SET e.department_id = d.id, e.department = d.name, e.updated_at = ?
+        WHERE e.id BETWEEN ? AND ? AND e.department_id IS NULL
+        """;
+
+    private static final String NEXT_MISNAMED_SQL = """
+        SELECT e.id FROM employees e JOIN departments d ON d.id = e.department_id
+        WHERE e.id > ? AND NOT (e.department <=> d.name)
+        ORDER BY e.id LIMIT ?
+        """;
+
+    private static final String RENAME_RANGE_SQL = """
+        UPDATE employees e JOIN departments d ON d.id = e.department_id
+        SET e.department = d.name, e.updated_at = ?
+        WHERE e.id BETWEEN ? AND ? AND NOT (e.department <=> d.name)
+        """;
+
+    private static final String UNMATCHED_SQL = """
+        SELECT DISTINCT department FROM employees
+        WHERE department_id IS NULL AND department IS NOT NULL AND department <> ''
+        ORDER BY department LIMIT 100
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${department.backfill.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${department.backfill.on-startup:true}")
+    private boolean onStartup;
+
+    public DepartmentBackfillService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (onStartup) {
+            backfill();
+        }
+    }
+
+    public DepartmentBackfillResult backfill() {
+        long start = System.nanoTime();
+        int[] chunks = {0};
+        long linked = pass(NEXT_UNLINKED_SQL, LINK_RANGE_SQL, chunks);
+        long renamed = pass(NEXT_MISNAMED_SQL, RENAME_RANGE_SQL, chunks);
+        List<String> unmatched = jdbcTemplate.queryForList(UNMATCHED_SQL, String.class);
+        if (linked + renamed > 0) {
+            eventPublisher.publishEvent(new DepartmentChangedEvent(null));
+        }
+
+        DepartmentBackfillResult result = DepartmentBackfillResult.builder()
+                .linked(linked)
+                .renamed(renamed)
+                .chunks(chunks[0])
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .unmatched(unmatched)
+                .build();
+        if (linked + renamed > 0 || !unmatched.isEmpty()) {
+            log.info("Department backfill linked {} and renamed {} employees in {} chunks ({} ms); unmatched names: {}",
+                    linked, renamed, result.getChunks(), result.getElapsedMillis(), unmatched);
+        }
+        return result;
+    }
+
+    private long pass(String nextSql, String updateSql, int[] chunks) {
+        long cursor = 0;
+        long updated = 0;
+        while (true) {
+            // Locate the next range without locking; the update re-checks the predicate
+            List<Long> ids = jdbcTemplate.queryForList(nextSql, Long.class, cursor, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long from = ids.get(0);
+            long to = ids.get(ids.size() - 1);
+            // Stamped per chunk: a watermark reader that already passed an earlier timestamp
+            // would never see rows committed later under it
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            Integer rows = chunkTransaction.execute(status -> jdbcTemplate.update(updateSql, now, from, to));
+            updated += rows != null ? rows : 0;
+            chunks[0]++;
+            cursor = to;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        return updated;
+    }
+}
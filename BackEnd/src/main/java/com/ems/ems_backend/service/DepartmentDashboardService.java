@@ -0,0 +1,109 @@
+package com.ems.ems_backend.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ems.ems_backend.event.DepartmentChangedEvent;
+import com.ems.ems_backend.event.EmployeeChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-department overview for GET /api/departments: head, headcount and budget. Built by one
+ * aggregate query and cached until an employee or department write commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DepartmentDashboardService {
+
+    private static final String DASHBOARD_SQL = """
+        SELECT d.name, d.description, d.budget_allocated, d.budget_spent, d.status,
+            h.first_name AS head_first_name, h.last_name AS head_last_name, COALESCE(c.employees, 0) AS employees
+        FROM departments d
+        LEFT JOIN employees h ON h.id = d.department_head_id
+        LEFT JOIN (
+            SELECT department_id, COUNT(*) AS employees FROM employees GROUP BY department_id
+        ) c ON c.department_id = d.id
+        ORDER BY d.name
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Bumped by every invalidation, so a build that raced a write is not cached
+    private final AtomicLong version = new AtomicLong();
+    private volatile Cached cached;
+
+    // Upper bound on staleness for writes that bypass the change events (e.g. manual SQL)
+    @Value("${department.dashboard.cache-seconds:300}")
+    private long cacheSeconds;
+
+    private record Cached(long version, long builtAt, Map<String, Object> departments) {
+    }
+
+    /**
+     * Department name to its head, employee count, description, budget and status
+     */
+    public Map<String, Object> getDepartments() {
+        Cached current = cached;
+        if (current != null && current.version() == version.get()
+                && System.currentTimeMillis() - current.builtAt() < cacheSeconds * 1000) {
+            return current.departments();
+        }
+        long buildVersion = version.get();
+        Map<String, Object> departments = load();
+        if (buildVersion == version.get()) {
+            cached = new Cached(buildVersion, System.currentTimeMillis(), departments);
+        }
+        return departments;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        cached = null;
+    }
+
+    private Map<String, Object> load() {
+        long start = System.nanoTime();
+        Map<String, Object> departments = new LinkedHashMap<>();
+        jdbcTemplate.query(DASHBOARD_SQL, rs -> {
+            Map<String, Object> info = new HashMap<>();
+            String headFirst = rs.getString("head_first_name");
+            String headLast = rs.getString("head_last_name");
+            boolean hasHead = headFirst != null || headLast != null;
+            info.put("head", hasHead ? headFirst + " " + headLast : "Not Assigned");
+            info.put("employees", rs.getInt("employees"));
+            info.put("description", rs.getString("description"));
+            double allocated = rs.getDouble("budget_allocated");
+            double spent = rs.getDouble("budget_spent");
+            info.put("budget_allocated", allocated);
+            info.put("budget_spent", spent);
+            info.put("budget_remaining", allocated - spent);
+            info.put("status", rs.getString("status"));
+            departments.put(rs.getString("name"), Collections.unmodifiableMap(info));
+        });
+        log.debug("Built department dashboard for {} departments in {} ms", departments.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return Collections.unmodifiableMap(departments);
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ems.ems_backend.model.Department;
 import com.ems.ems_backend.model.Employee;
@@ -32,8 +33,14 @@ public class DepartmentService {
         return departmentRepository.findByName(name);
     }
 
+    /**
+     * Save the department; a rename is copied to its employees' compatibility name column
+     */
+    @Transactional
     public Department saveDepartment(Department department) {
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        employeeRepository.syncDepartmentName(saved.getId(), saved.getName());
+        return saved;
     }
 
     public void deleteDepartment(Long id) {
@@ -0,0 +1,454 @@
+package com.ems.ems_backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ems.ems_backend.dto.EmployeeBulkResult;
+import com.ems.ems_backend.event.EmployeeChangedEvent;
+import com.ems.ems_backend.model.Department;
+import com.ems.ems_backend.model.Employee;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates and updates employees in bulk: records with an {@code id} update that employee, the
+ * rest are created. Employee ID uniqueness is checked with one IN lookup per chunk of IDs
+ * instead of a probe per record, missing employee IDs are allocated per department in blocks,
+ * and rows are written with JDBC batches ({@code Employee} uses IDENTITY keys, which rules out
+ * Hibernate insert batching). Each batch commits on its own, so a failing batch does not undo
+ * the others, and is then retried row by row so only the offending records fail; every record
+ * gets its own result. Called inside an existing transaction, the
+ * batches join it instead.
+ */
+@Service
+@Slf4j
+public class EmployeeBulkService {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO employees (first_name, last_name, employee_id, department, department_id, position, phone,
+            address, hire_date, birth_date, salary, bonus, annual_vacation_days, email, status, created_at, updated_at,
+            user_id)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // Same fields as EmployeeServiceImpl.update; an omitted employee ID or status keeps the stored one, and
+    // a department name that matches no department keeps the stored link (as EmployeeDepartmentLinker does)
+    private static final String UPDATE_SQL = """
+        UPDATE employees
+        SET first_name = ?, last_name = ?, employee_id = COALESCE(?, employee_id),
+            department = COALESCE((SELECT name FROM departments WHERE id = COALESCE(?, employees.department_id)), ?),
+            department_id = COALESCE(?, department_id), position = ?,
+            phone = ?, address = ?, hire_date = ?, birth_date = ?, salary = ?, bonus = ?, annual_vacation_days = ?,
+            email = ?, status = COALESCE(?, status), updated_at = ?
+        WHERE id = ?
+        """;
+
+    private static final String STORED_SQL = """
+        SELECT e.id, e.first_name, e.last_name, e.employee_id, e.email, e.department, e.department_id,
+            d.name AS department_name, e.position, e.status, e.updated_at
+        FROM employees e LEFT JOIN departments d ON d.id = e.department_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final EmployeeIdAllocator employeeIdAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate batchTransaction;
+
+    @Value("${employee.bulk.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${employee.bulk.batch-size:500}")
+    private int batchSize;
+
+    public EmployeeBulkService(JdbcTemplate jdbcTemplate, Validator validator, EmployeeIdAllocator employeeIdAllocator,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.employeeIdAllocator = employeeIdAllocator;
+        this.eventPublisher = eventPublisher;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public EmployeeBulkResult apply(List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            throw new IllegalArgumentException("No employees given");
+        }
+        if (employees.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " employees per request");
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        EmployeeBulkResult.Row[] results = new EmployeeBulkResult.Row[employees.size()];
+
+        Map<String, Integer> claimed = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee == null) {
+                results[i] = failed(i, null, "Missing employee record");
+                continue;
+            }
+            prepare(employee, now);
+            String invalid = violations(employee);
+            if (invalid != null) {
+                results[i] = failed(i, employee, invalid);
+            } else if (employee.getEmployeeId() != null && claimed.putIfAbsent(employee.getEmployeeId(), i) != null) {
+                results[i] = failed(i, employee, "Employee ID '" + employee.getEmployeeId() + "' appears more than once in the request");
+            }
+        }
+
+        // One set-based lookup for every employee ID and every id the request mentions
+        Map<String, Long> owners = ownersOf(claimed.keySet());
+        Set<Long> existingIds = existingIds(employees.stream()
+                .filter(e -> e != null && e.getId() != null).map(Employee::getId).toList());
+
+        List<Integer> creates = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Employee employee = employees.get(i);
+            Long owner = employee.getEmployeeId() != null ? owners.get(employee.getEmployeeId()) : null;
+            if (employee.getId() != null && !existingIds.contains(employee.getId())) {
+                results[i] = failed(i, employee, "Employee with ID " + employee.getId() + " not found");
+            } else if (owner != null && !owner.equals(employee.getId())) {
+                results[i] = failed(i, employee, "Employee ID '" + employee.getEmployeeId() + "' is already in use.");
+            } else {
+                (employee.getId() != null ? updates : creates).add(i);
+            }
+        }
+
+        linkDepartments(employees, results);
+        allocateEmployeeIds(employees, creates);
+        for (int from = 0; from < creates.size(); from += batchSize) {
+            insert(employees, creates.subList(from, Math.min(creates.size(), from + batchSize)), results);
+        }
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            update(employees, updates.subList(from, Math.min(updates.size(), from + batchSize)), results);
+        }
+
+        EmployeeBulkResult result = EmployeeBulkResult.builder()
+                .created(count(results, EmployeeBulkResult.Status.CREATED))
+                .updated(count(results, EmployeeBulkResult.Status.UPDATED))
+                .failed(count(results, EmployeeBulkResult.Status.FAILED))
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .rows(Arrays.asList(results))
+                .build();
+        log.info("Bulk employee write: {} created, {} updated, {} failed in {} ms", result.getCreated(),
+                result.getUpdated(), result.getFailed(), result.getElapsedMillis());
+        return result;
+    }
+
+    // Same defaults as the single-record create endpoint
+    private static void prepare(Employee employee, LocalDateTime now) {
+        if (employee.getEmployeeId() != null) {
+            employee.setEmployeeId(employee.getEmployeeId().trim());
+            if (employee.getEmployeeId().isEmpty()) {
+                employee.setEmployeeId(null);
+            }
+        }
+        if (employee.getId() == null) {
+            if (employee.getHireDate() == null) {
+                employee.setHireDate(LocalDate.now());
+            }
+            if (employee.getStatus() == null) {
+                employee.setStatus(Employee.Status.ACTIVE);
+            }
+            employee.setCreatedAt(now);
+        }
+        employee.setUpdatedAt(now);
+    }
+
+    private String violations(Employee employee) {
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Map<String, Long> ownersOf(Collection<String> employeeIds) {
+        Map<String, Long> owners = new HashMap<>();
+        List<String> ids = List.copyOf(employeeIds);
+        for (int from = 0; from < ids.size(); from += 1000) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + 1000));
+            jdbcTemplate.query("SELECT id, employee_id FROM employees WHERE employee_id IN (" + placeholders(chunk.size()) + ")",
+                    rs -> {
+                        owners.put(rs.getString("employee_id"), rs.getLong("id"));
+                    }, chunk.toArray());
+        }
+        return owners;
+    }
+
+    private Set<Long> existingIds(List<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += 1000) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + 1000));
+            existing.addAll(jdbcTemplate.queryForList("SELECT id FROM employees WHERE id IN (" + placeholders(chunk.size()) + ")",
+                    Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    // Resolves department names to department_id with one lookup, so rows are stored with the foreign key set
+    private void linkDepartments(List<Employee> employees, EmployeeBulkResult.Row[] results) {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (results[i] == null && employee.getDepartment() != null && !employee.getDepartment().isBlank()) {
+                names.add(employee.getDepartment().trim());
+            }
+        }
+        Map<String, Department> departments = new HashMap<>();
+        List<String> list = List.copyOf(names);
+        for (int from = 0; from < list.size(); from += 1000) {
+            List<String> chunk = list.subList(from, Math.min(list.size(), from + 1000));
+            jdbcTemplate.query("SELECT id, name FROM departments WHERE name IN (" + placeholders(chunk.size()) + ")",
+                    rs -> {
+                        Department department = new Department();
+                        department.setId(rs.getLong("id"));
+                        department.setName(rs.getString("name"));
+                        departments.put(department.getName(), department);
+                    }, chunk.toArray());
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            Department named = employee.getDepartment() != null ? departments.get(employee.getDepartment().trim()) : null;
+            if (named != null) {
+                employee.setDepartmentEntity(named);
+                employee.setDepartment(named.getName());
+            } else if (employee.getDepartmentEntity() != null && employee.getDepartmentEntity().getName() != null) {
+                employee.setDepartment(employee.getDepartmentEntity().getName());
+            }
+        }
+    }
+
+    // One allocator call per department prefix for all new employees without an employee ID
+    private void allocateEmployeeIds(List<Employee> employees, List<Integer> creates) {
+        Map<String, List<Employee>> byPrefix = new LinkedHashMap<>();
+        for (int i : creates) {
+            Employee employee = employees.get(i);
+            if (employee.getEmployeeId() == null) {
+                byPrefix.computeIfAbsent(EmployeeIdAllocator.prefixOf(employee.getDepartment()), p -> new ArrayList<>())
+                        .add(employee);
+            }
+        }
+        byPrefix.values().forEach(group -> {
+            List<String> ids = employeeIdAllocator.next(group.get(0).getDepartment(), group.size());
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).setEmployeeId(ids.get(i));
+            }
+        });
+    }
+
+    private void insert(List<Employee> employees, List<Integer> batch, EmployeeBulkResult.Row[] results) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Employee e = employees.get(batch.get(i));
+                            ps.setString(1, e.getFirstName());
+                            ps.setString(2, e.getLastName());
+                            ps.setString(3, e.getEmployeeId());
+                            ps.setString(4, e.getDepartment());
+                            ps.setObject(5, e.getDepartmentEntity() != null ? e.getDepartmentEntity().getId() : null, Types.BIGINT);
+                            ps.setString(6, e.getPosition());
+                            ps.setString(7, e.getPhone());
+                            ps.setString(8, e.getAddress());
+                            ps.setObject(9, e.getHireDate(), Types.DATE);
+                            ps.setObject(10, e.getBirthDate(), Types.DATE);
+                            ps.setObject(11, e.getSalary(), Types.DOUBLE);
+                            ps.setObject(12, e.getBonus(), Types.DOUBLE);
+                            ps.setObject(13, e.getAnnualVacationDays(), Types.INTEGER);
+                            ps.setString(14, e.getEmail());
+                            ps.setString(15, e.getStatus().name());
+                            ps.setTimestamp(16, Timestamp.valueOf(e.getCreatedAt()));
+                            ps.setTimestamp(17, Timestamp.valueOf(e.getUpdatedAt()));
+                            ps.setObject(18, e.getUser() != null ? e.getUser().getId() : null, Types.BIGINT);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder));
+        } catch (DataAccessException e) {
+            if (retryRowByRow(batch, e)) {
+                batch.forEach(i -> insert(employees, List.of(i), results));
+            } else {
+                fail(employees, batch, results, e);
+            }
+            return;
+        }
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            Employee employee = employees.get(batch.get(i));
+            employee.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            results[batch.get(i)] = row(batch.get(i), employee, EmployeeBulkResult.Status.CREATED);
+            eventPublisher.publishEvent(EmployeeChangedEvent.saved(employee));
+        }
+    }
+
+    private void update(List<Employee> employees, List<Integer> batch, EmployeeBulkResult.Row[] results) {
+        Map<Long, Employee> stored;
+        try {
+            stored = batchTransaction.execute(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Employee e = employees.get(batch.get(i));
+                        ps.setString(1, e.getFirstName());
+                        ps.setString(2, e.getLastName());
+                        ps.setString(3, e.getEmployeeId());
+                        Long departmentId = e.getDepartmentEntity() != null ? e.getDepartmentEntity().getId() : null;
+                        ps.setObject(4, departmentId, Types.BIGINT);
+                        ps.setString(5, e.getDepartment());
+                        ps.setObject(6, departmentId, Types.BIGINT);
+                        ps.setString(7, e.getPosition());
+                        ps.setString(8, e.getPhone());
+                        ps.setString(9, e.getAddress());
+                        ps.setObject(10, e.getHireDate(), Types.DATE);
+                        ps.setObject(11, e.getBirthDate(), Types.DATE);
+                        ps.setObject(12, e.getSalary(), Types.DOUBLE);
+                        ps.setObject(13, e.getBonus(), Types.DOUBLE);
+                        ps.setObject(14, e.getAnnualVacationDays(), Types.INTEGER);
+                        ps.setString(15, e.getEmail());
+                        ps.setString(16, e.getStatus() != null ? e.getStatus().name() : null);
+                        ps.setTimestamp(17, Timestamp.valueOf(e.getUpdatedAt()));
+                        ps.setLong(18, e.getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                });
+                return storedRows(batch.stream().map(i -> employees.get(i).getId()).toList());
+            });
+        } catch (DataAccessException e) {
+            if (retryRowByRow(batch, e)) {
+                batch.forEach(i -> update(employees, List.of(i), results));
+            } else {
+                fail(employees, batch, results, e);
+            }
+            return;
+        }
+        for (int i : batch) {
+            Employee employee = employees.get(i);
+            Employee saved = stored.get(employee.getId());
+            if (saved == null) {
+                results[i] = failed(i, employee, "Employee with ID " + employee.getId() + " not found");
+            } else {
+                results[i] = row(i, saved, EmployeeBulkResult.Status.UPDATED);
+                eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved));
+            }
+        }
+    }
+
+    // The rows as written, since the update keeps stored values for omitted fields
+    private Map<Long, Employee> storedRows(List<Long> ids) {
+        Map<Long, Employee> stored = new HashMap<>();
+        jdbcTemplate.query(STORED_SQL + " WHERE e.id IN (" + placeholders(ids.size()) + ")", rs -> {
+            Employee employee = new Employee();
+            employee.setId(rs.getLong("id"));
+            employee.setFirstName(rs.getString("first_name"));
+            employee.setLastName(rs.getString("last_name"));
+            employee.setEmployeeId(rs.getString("employee_id"));
+            employee.setEmail(rs.getString("email"));
+            employee.setDepartment(rs.getString("department"));
+            long departmentId = rs.getLong("department_id");
+            if (!rs.wasNull()) {
+                Department department = new Department();
+                department.setId(departmentId);
+                department.setName(rs.getString("department_name"));
+                employee.setDepartmentEntity(department);
+            }
+            employee.setPosition(rs.getString("position"));
+            String status = rs.getString("status");
+            employee.setStatus(status != null ? Employee.Status.valueOf(status) : null);
+            employee.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+            stored.put(employee.getId(), employee);
+        }, ids.toArray());
+        return stored;
+    }
+
+    // A failed batch is written again one row at a time, so only the offending rows fail.
+    // Inside a caller's transaction (e.g. an import chunk) the error is the caller's to handle,
+    // since the shared transaction is already marked rollback-only
+    private static boolean retryRowByRow(List<Integer> batch, DataAccessException e) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw e;
+        }
+        if (batch.size() == 1) {
+            return false;
+        }
+        log.warn("Bulk employee batch of {} rows failed, retrying row by row: {}", batch.size(),
+                e.getMostSpecificCause().getMessage());
+        return true;
+    }
+
+    private static void fail(List<Employee> employees, List<Integer> batch, EmployeeBulkResult.Row[] results,
+            DataAccessException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        for (int i : batch) {
+            results[i] = failed(i, employees.get(i), message);
+        }
+    }
+
+    private static EmployeeBulkResult.Row row(int index, Employee employee, EmployeeBulkResult.Status status) {
+        return new EmployeeBulkResult.Row(index, employee.getId(), employee.getEmployeeId(), status, null);
+    }
+
+    private static EmployeeBulkResult.Row failed(int index, Employee employee, String error) {
+        return new EmployeeBulkResult.Row(index, employee != null ? employee.getId() : null,
+                employee != null ? employee.getEmployeeId() : null, EmployeeBulkResult.Status.FAILED, error);
+    }
+
+    private static int count(EmployeeBulkResult.Row[] rows, EmployeeBulkResult.Status status) {
+        return (int) Arrays.stream(rows).filter(r -> r.getStatus() == status).count();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.ems.ems_backend.service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.ems_backend.model.Employee;
+import com.ems.ems_backend.model.SystemSettings;
+import com.ems.ems_backend.repository.EmployeeRepository;
+import com.ems.ems_backend.repository.SystemSettingsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds today's birthdays and work anniversaries with one indexed month-day query each and
+ * hands them to {@link NotificationEventService}. "Today" is the calendar day in the time zone
+ * from system settings; the job checks hourly and runs once that day has reached the send hour.
+ * Outbox idempotency keys include the date, so re-runs and multiple nodes do not duplicate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeCelebrationService {
+
+    private static final int LEAP_DAY = 229;
+
+    private final EmployeeRepository employeeRepository;
+    private final SystemSettingsRepository systemSettingsRepository;
+    private final NotificationEventService notificationEventService;
+
+    @Value("${notification.celebrations.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.celebrations.send-hour:9}")
+    private int sendHour;
+
+    @Value("${notification.celebrations.leap-day-rule:FEB_28}")
+    private LeapDayRule leapDayRule;
+
+    // Last local date processed by this node; only saves repeated lookups within the same day
+    private volatile LocalDate lastProcessed;
+
+    @Scheduled(cron = "${notification.celebrations.cron:0 5 * * * ?}")
+    @Transactional
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+        ZonedDateTime now = ZonedDateTime.now(tenantZone());
+        LocalDate today = now.toLocalDate();
+        if (now.getHour() < sendHour || today.equals(lastProcessed)) {
+            return;
+        }
+        notifyFor(today);
+        lastProcessed = today;
+    }
+
+    /**
+     * Queue birthday and anniversary notifications for the given local date
+     */
+    @Transactional
+    public void notifyFor(LocalDate today) {
+        List<Integer> monthDays = monthDaysFor(today);
+
+        List<Employee> birthdays = employeeRepository.findActiveByBirthMonthDayIn(monthDays).stream()
+                .filter(e -> e.getBirthDate() != null && e.getBirthDate().isBefore(today))
+                .collect(Collectors.toList());
+        // Anniversaries start one year after the hire date
+        List<Employee> anniversaries = employeeRepository.findActiveByHireMonthDayIn(monthDays).stream()
+                .filter(e -> e.getHireDate() != null && e.getHireDate().getYear() < today.getYear())
+                .collect(Collectors.toList());
+
+        if (!birthdays.isEmpty()) {
+            notificationEventService.sendBirthdayNotifications(birthdays, today);
+        }
+        if (!anniversaries.isEmpty()) {
+            notificationEventService.sendAnniversaryNotifications(anniversaries, today);
+        }
+        log.info("Celebrations for {}: {} birthdays, {} anniversaries", today, birthdays.size(), anniversaries.size());
+    }
+
+    // Month-day keys (month * 100 + day) celebrated on this date, including Feb 29 in common years
+    List<Integer> monthDaysFor(LocalDate date) {
+        List<Integer> monthDays = new ArrayList<>(2);
+        monthDays.add(date.getMonthValue() * 100 + date.getDayOfMonth());
+        if (!date.isLeapYear() && leapDayRule.observedOn(date)) {
+            monthDays.add(LEAP_DAY);
+        }
+        return monthDays;
+    }
+
+    private ZoneId tenantZone() {
+        String timezone = systemSettingsRepository.findCurrentSettings()
+                .map(SystemSettings::getTimezone)
+                .orElse(null);
+        if (timezone == null || timezone.isBlank()) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            log.warn("Invalid timezone '{}' in system settings, using UTC", timezone);
+            return ZoneOffset.UTC;
+        }
+    }
+
+    /**
+     * Day on which Feb 29 dates are celebrated in common years
+     */
+    public enum LeapDayRule {
+        FEB_28,
+        MAR_1;
+
+        boolean observedOn(LocalDate date) {
+            return this == FEB_28
+                    ? date.getMonth() == Month.FEBRUARY && date.getDayOfMonth() == 28
+                    : date.getMonth() == Month.MARCH && date.getDayOfMonth() == 1;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.ems.ems_backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out employee IDs of the form {@code EMP<dept><n>} (e.g. EMPENG007), numbered per
+ * department prefix from a hi/lo sequence in {@code id_sequences}. Each prefix reserves a block
+ * of numbers in one short transaction and then numbers from memory, so concurrent creates never
+ * share a number and a bulk request needs one round trip per block rather than per employee.
+ * <p>
+ * A sequence starts after the highest number already used with its prefix. Numbers left in a
+ * block when the application stops are skipped, never reused.
+ */
+@Service
+@Slf4j
+public class EmployeeIdAllocator {
+
+    private static final String PREFIX = "EMP";
+    // next_value of a sequence row seeded but not yet started; numbers begin at 1
+    private static final long UNSEEDED = 0;
+    private static final Pattern NON_LETTER = Pattern.compile("[^A-Za-z]");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Value("${employee.id.block-size:50}")
+    private int blockSize;
+
+    /**
+     * Numbers reserved by this instance for one prefix; next == limit means exhausted
+     */
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+
+    public EmployeeIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Reservations commit on their own so the row lock is held only for the reservation,
+        // and a rolled-back create does not hand the same block out twice
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String next(String department) {
+        return next(department, 1).get(0);
+    }
+
+    /**
+     * {@code count} unused IDs for employees of the department, in ascending order
+     */
+    public List<String> next(String department, int count) {
+        if (count < 1) {
+            return List.of();
+        }
+        String prefix = prefixOf(department);
+        Block block = blocks.computeIfAbsent(prefix, p -> new Block());
+        List<String> ids = new ArrayList<>(count);
+        synchronized (block) {
+            while (ids.size() < count) {
+                if (block.next == block.limit) {
+                    int size = Math.max(blockSize, count - ids.size());
+                    block.next = reserve(prefix, size);
+                    block.limit = block.next + size;
+                }
+                ids.add(format(prefix, block.next++));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * ID prefix for a department: EMP plus the first three letters of its name, upper-cased.
+     * Digits are left out so the number that follows can never be read as part of another prefix.
+     */
+    public static String prefixOf(String department) {
+        if (department == null) {
+            return PREFIX;
+        }
+        String code = NON_LETTER.matcher(department).replaceAll("").toUpperCase(Locale.ROOT);
+        return PREFIX + code.substring(0, Math.min(3, code.length()));
+    }
+
+    private static String format(String prefix, long number) {
+        return prefix + String.format("%03d", number);
+    }
+
+    // Advance the sequence by size and return the first number of the reserved range
+    private long reserve(String prefix, int size) {
+        String name = "employee_id:" + prefix;
+        Long first = reserveTransaction.execute(status -> {
+            // Seed the row before locking it: FOR UPDATE on a missing row takes a gap lock, and
+            // two instances inserting into the same gap deadlock
+            jdbcTemplate.update("INSERT IGNORE INTO id_sequences (name, next_value, updated_at) VALUES (?, 0, ?)",
+                    name, Timestamp.valueOf(LocalDateTime.now()));
+            long current = jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM id_sequences WHERE name = ? FOR UPDATE", Long.class, name);
+            long start = current == UNSEEDED ? firstNumber(prefix) : current;
+            jdbcTemplate.update("UPDATE id_sequences SET next_value = ?, updated_at = ? WHERE name = ?",
+                    start + size, Timestamp.valueOf(LocalDateTime.now()), name);
+            return start;
+        });
+        log.debug("Reserved employee IDs {} to {}", format(prefix, first), format(prefix, first + size - 1));
+        return first;
+    }
+
+    // First use of a prefix: start after the highest number existing IDs with that prefix carry
+    private long firstNumber(String prefix) {
+        return jdbcTemplate.queryForList("SELECT employee_id FROM employees WHERE employee_id LIKE ?",
+                        String.class, prefix + "%").stream()
+                .map(id -> id.substring(prefix.length()))
+                .filter(suffix -> !suffix.isEmpty() && suffix.length() <= 18 && suffix.chars().allMatch(Character::isDigit))
+                .mapToLong(Long::parseLong)
+                .max()
+                .orElse(0) + 1;
+    }
+}
@@ -0,0 +1,713 @@
+package com.ems.ems_backend.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ems.ems_backend.dto.EmployeeSearchHit;
+import com.ems.ems_backend.dto.EmployeeSearchPage;
+import com.ems.ems_backend.event.EmployeeChangedEvent;
+import com.ems.ems_backend.model.Employee;
+import com.ems.ems_backend.utils.TextFolding;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over employee name, employee ID, email, department and position.
+ * Each employee has an int slot; terms map to postings of slots, tagged with the fields the term
+ * occurs in, and a trigram map over the terms finds candidates for fuzzy matching.
+ * <p>
+ * Every query term must match each returned employee, exactly, as a prefix of an indexed term,
+ * or within a small edit distance. Results are ranked by match quality weighted by field. A
+ * query reads each of its terms' postings once into per-thread score arrays indexed by slot, so
+ * its cost follows the postings it reads rather than the number of employees.
+ * <p>
+ * The index is built from the table at startup, follows JPA writes through
+ * {@link EmployeeChangedEvent} after commit, and re-reads rows changed since the last pass
+ * (by {@code updated_at}) on a schedule to pick up writes that bypass JPA.
+ */
+@Service
+@Slf4j
+public class EmployeeSearchIndex {
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^\\p{Alnum}]+");
+
+    private static final double EXACT = 1.0;
+    private static final double FUZZY = 0.35;
+
+    private static final String SELECT_ROWS = """
+        SELECT e.id, e.first_name, e.last_name, e.employee_id, e.email, COALESCE(d.name, e.department) AS department,
+               e.position, e.status, e.updated_at
+        FROM employees e LEFT JOIN departments d ON d.id = e.department_id
+        """;
+
+    /**
+     * Indexed fields; a match in a name or employee ID outranks one in the department or position
+     */
+    enum Field {
+        NAME(3), EMPLOYEE_ID(3), EMAIL(2), DEPARTMENT(1), POSITION(1);
+
+        private static final int[] WEIGHTS = new int[1 << values().length];
+
+        static {
+            for (int bits = 0; bits < WEIGHTS.length; bits++) {
+                for (Field field : values()) {
+                    if ((bits & field.bit()) != 0) {
+                        WEIGHTS[bits] = Math.max(WEIGHTS[bits], field.weight);
+                    }
+                }
+            }
+        }
+
+        final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+
+        static int weightOf(int bits) {
+            return WEIGHTS[bits];
+        }
+    }
+
+    record Document(Long id, String employeeId, String fullName, String email, String department, String position,
+                    Employee.Status status, LocalDateTime updatedAt, Map<String, Integer> terms) {
+    }
+
+    /**
+     * Slots of the employees containing a term with the fields it occurs in, unordered
+     */
+    private static final class Posting {
+        private int[] slots = new int[2];
+        private int[] fields = new int[2];
+        private int size;
+
+        void add(int slot, int fieldBits) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            slots[size] = slot;
+            fields[size++] = fieldBits;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    fields[i] = fields[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Terms one query token matches with their quality; truncated when only the best-covered
+     * {@code max-prefix-expansions} of its prefix matches were kept
+     */
+    private record TokenMatch(Map<String, Double> terms, long cost, boolean truncated) {
+    }
+
+    /**
+     * Per-thread score arrays indexed by slot. Entries are stamped with a per-query generation
+     * instead of being cleared, so a query touches only the slots in its postings.
+     */
+    private static final class Scratch {
+        private int[] stamps = new int[0];
+        private double[] earlier = new double[0];
+        private double[] best = new double[0];
+        private int[] matched = new int[256];
+        private int generation = 1;
+
+        // Reserves one stamp per token plus one, and returns the first
+        int begin(int capacity, int tokens) {
+            if (stamps.length < capacity || generation > Integer.MAX_VALUE - tokens - 1) {
+                int length = Math.max(capacity, stamps.length);
+                stamps = new int[length];
+                earlier = new double[length];
+                best = new double[length];
+                generation = 1;
+            }
+            int base = generation;
+            generation += tokens + 1;
+            return base;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer searchLatency;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> departmentNames = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    // Guarded by lock
+    private Map<Long, Document> documents = new HashMap<>();
+    private Map<Long, Integer> slotOf = new HashMap<>();
+    private Document[] bySlot = new Document[1024];
+    private long[] idBySlot = new long[1024];
+    private int slotCount;
+    private Deque<Integer> freeSlots = new ArrayDeque<>();
+    private TreeMap<String, Posting> postings = new TreeMap<>();
+    // Every term prefixed with its length as a char, so the matches of a prefix can be read shortest first
+    private TreeSet<String> termsByLength = new TreeSet<>();
+    private int longestTerm;
+    // Trigram followed by a term length (as a char) to the terms of that length containing it
+    private Map<String, Set<String>> trigrams = new HashMap<>();
+
+    private volatile boolean ready;
+    private volatile LocalDateTime watermark;
+
+    @Value("${employee.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.search.max-prefix-expansions:1000}")
+    private int maxPrefixExpansions;
+
+    @Value("${employee.search.min-fuzzy-length:4}")
+    private int minFuzzyLength;
+
+    // Rows written within this window before a refresh started are re-read, covering clock skew and slow commits
+    @Value("${employee.search.refresh-overlap-seconds:30}")
+    private long refreshOverlapSeconds;
+
+    public EmployeeSearchIndex(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchLatency = Timer.builder("employee.search.latency")
+                .description("Time to answer an employee search from the in-memory index")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.documents", this, EmployeeSearchIndex::size)
+                .description("Employees held in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True once the first build finished; callers fall back to the database until then
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches for a free-text query. The total counts every matching employee unless a
+     * token matched more than {@code max-prefix-expansions} terms; then only its best-covered
+     * terms are read and the page is marked truncated.
+     */
+    public Page<EmployeeSearchHit> search(String query, Pageable pageable) {
+        long start = System.nanoTime();
+        List<String> tokens = tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        lock.readLock().lock();
+        try {
+            List<TokenMatch> matches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                matches.add(match(token));
+            }
+            // The rarest token first, so later tokens only extend a small surviving set
+            matches.sort(Comparator.comparingLong(TokenMatch::cost));
+
+            Scratch s = scratch.get();
+            int base = s.begin(slotCount, matches.size());
+            int survivors = 0;
+            boolean truncated = false;
+            for (int t = 0; t < matches.size(); t++) {
+                truncated |= matches.get(t).truncated();
+                survivors = accumulate(matches.get(t), s, base, t);
+                if (survivors == 0) {
+                    break;
+                }
+            }
+            List<EmployeeSearchHit> hits = top(s, survivors, (int) pageable.getOffset(), pageable.getPageSize());
+            return new EmployeeSearchPage(hits, pageable, survivors, truncated);
+        } finally {
+            lock.readLock().unlock();
+            searchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Exact, prefix and fuzzy terms for one query token
+    private TokenMatch match(String token) {
+        Map<String, Double> terms = new LinkedHashMap<>();
+        SortedMap<String, Posting> prefixed = postings.subMap(token, token + Character.MAX_VALUE);
+        boolean truncated = false;
+        int expansions = 0;
+        for (String term : prefixed.keySet()) {
+            if (++expansions > maxPrefixExpansions) {
+                truncated = true;
+                break;
+            }
+        }
+        for (String term : truncated ? shortestWithPrefix(token) : prefixed.keySet()) {
+            // Exact is 1.0; a prefix scores between 0.5 and 1.0 by how much of the term it covers
+            terms.put(term, term.length() == token.length() ? EXACT : 0.5 + 0.4 * token.length() / term.length());
+        }
+        if (token.length() >= minFuzzyLength) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            for (String term : fuzzyCandidates(token, maxEdits)) {
+                int distance = editDistance(token, term, maxEdits);
+                if (distance > 0 && distance <= maxEdits) {
+                    terms.merge(term, FUZZY / distance, Math::max);
+                }
+            }
+        }
+        long cost = 0;
+        for (String term : terms.keySet()) {
+            cost += postings.get(term).size;
+        }
+        return new TokenMatch(terms, cost, truncated);
+    }
+
+    // The maxPrefixExpansions shortest terms with the prefix, which it covers best
+    private List<String> shortestWithPrefix(String prefix) {
+        List<String> shortest = new ArrayList<>(maxPrefixExpansions);
+        for (int length = prefix.length(); length <= longestTerm && shortest.size() < maxPrefixExpansions; length++) {
+            String from = (char) length + prefix;
+            for (String key : termsByLength.subSet(from, from + Character.MAX_VALUE)) {
+                if (shortest.size() == maxPrefixExpansions) {
+                    break;
+                }
+                shortest.add(key.substring(1));
+            }
+        }
+        return shortest;
+    }
+
+    /**
+     * Add token t's best score to every slot that matched all earlier tokens, and list the slots
+     * that now match through t in {@code s.matched}; returns their number
+     */
+    private int accumulate(TokenMatch match, Scratch s, int base, int t) {
+        int previous = base + t;
+        int current = base + t + 1;
+        int[] stamps = s.stamps;
+        double[] earlier = s.earlier;
+        double[] best = s.best;
+        int count = 0;
+        for (Map.Entry<String, Double> term : match.terms().entrySet()) {
+            Posting posting = postings.get(term.getKey());
+            double quality = term.getValue();
+            for (int i = 0; i < posting.size; i++) {
+                int slot = posting.slots[i];
+                double score = quality * Field.weightOf(posting.fields[i]);
+                int stamp = stamps[slot];
+                if (stamp == current) {
+                    best[slot] = Math.max(best[slot], score);
+                } else if (t == 0 || stamp == previous) {
+                    earlier[slot] = t == 0 ? 0 : earlier[slot] + best[slot];
+                    best[slot] = score;
+                    stamps[slot] = current;
+                    if (count == s.matched.length) {
+                        s.matched = Arrays.copyOf(s.matched, count * 2);
+                    }
+                    s.matched[count++] = slot;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Terms sharing enough trigrams with the token to be within maxEdits of it
+    private Collection<String> fuzzyCandidates(String token, int maxEdits) {
+        Set<String> grams = trigramsOf(token);
+        Map<String, Integer> shared = new HashMap<>();
+        for (int length = Math.max(1, token.length() - maxEdits); length <= token.length() + maxEdits; length++) {
+            for (String gram : grams) {
+                for (String term : trigrams.getOrDefault(gram + (char) length, Set.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        // Each edit destroys at most four trigrams (a transposition touches two characters)
+        int required = Math.max(1, grams.size() - 4 * maxEdits);
+        List<String> candidates = new ArrayList<>();
+        shared.forEach((term, count) -> {
+            if (count >= required) {
+                candidates.add(term);
+            }
+        });
+        return candidates;
+    }
+
+    // One page of the matched slots by descending score, ties by id
+    private List<EmployeeSearchHit> top(Scratch s, int count, int offset, int size) {
+        int keep = offset + size;
+        double[] earlier = s.earlier;
+        double[] best = s.best;
+        long[] ids = idBySlot;
+        Comparator<Integer> rank = Comparator.<Integer>comparingDouble(slot -> earlier[slot] + best[slot]).reversed()
+                .thenComparingLong(slot -> ids[slot]);
+        // The worst kept hit on top, so most candidates are turned away with one comparison
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(keep, count) + 1, rank.reversed());
+        for (int i = 0; i < count; i++) {
+            int slot = s.matched[i];
+            if (heap.size() < keep) {
+                heap.offer(slot);
+            } else if (keep > 0 && rank.compare(slot, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(slot);
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(heap);
+        ranked.sort(rank);
+        List<EmployeeSearchHit> hits = new ArrayList<>(size);
+        for (int i = offset; i < ranked.size(); i++) {
+            int slot = ranked.get(i);
+            Document doc = bySlot[slot];
+            hits.add(EmployeeSearchHit.builder()
+                    .id(doc.id())
+                    .employeeId(doc.employeeId())
+                    .fullName(doc.fullName())
+                    .email(doc.email())
+                    .department(doc.department())
+                    .position(doc.position())
+                    .status(doc.status())
+                    .score(Math.round((earlier[slot] + best[slot]) * 1000) / 1000.0)
+                    .build());
+        }
+        return hits;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isDeleted()) {
+            lock.writeLock().lock();
+            try {
+                remove(event.getId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        String department = event.getDepartmentName();
+        if (department == null && event.getDepartmentId() != null) {
+            department = departmentName(event.getDepartmentId());
+        }
+        put(List.of(document(event.getId(), event.getFirstName(), event.getLastName(), event.getEmployeeId(),
+                event.getEmail(), department != null ? department : event.getDepartment(), event.getPosition(),
+                event.getStatus(), event.getUpdatedAt())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            tryRebuild();
+        }
+    }
+
+    // A failed build leaves searches on the database; the scheduled refresh tries again
+    private void tryRebuild() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Employee search index build failed, searching the database until it succeeds: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the index with a fresh build from the table, then catch up on rows written meanwhile
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<Document> loaded = new ArrayList<>();
+        jdbcTemplate.query(SELECT_ROWS, rs -> {
+            loaded.add(document(rs));
+        });
+        lock.writeLock().lock();
+        try {
+            documents = new HashMap<>(loaded.size() * 2);
+            slotOf = new HashMap<>(loaded.size() * 2);
+            bySlot = new Document[Math.max(1024, loaded.size() + loaded.size() / 4)];
+            idBySlot = new long[bySlot.length];
+            slotCount = 0;
+            freeSlots = new ArrayDeque<>();
+            postings = new TreeMap<>();
+            termsByLength = new TreeSet<>();
+            longestTerm = 0;
+            trigrams = new HashMap<>();
+            departmentNames.clear();
+            loaded.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        watermark = startedAt;
+        ready = true;
+        log.info("Employee search index built: {} employees, {} terms in {} ms", loaded.size(), postings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        refresh();
+    }
+
+    /**
+     * Re-read rows updated since the previous pass, and reconcile ids if the row count drifted
+     * (rows inserted or deleted by bulk SQL); builds the index instead if the startup build failed
+     */
+    @Scheduled(fixedDelayString = "${employee.search.refresh-interval-ms:60000}",
+            initialDelayString = "${employee.search.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            tryRebuild();
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        departmentNames.clear();
+        List<Document> changed = new ArrayList<>();
+        jdbcTemplate.query(SELECT_ROWS + " WHERE e.updated_at > ?", rs -> {
+            changed.add(document(rs));
+        }, Timestamp.valueOf(watermark.minusSeconds(refreshOverlapSeconds)));
+        put(changed);
+
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+        if (rows != null && rows != size()) {
+            reconcile();
+        }
+        watermark = startedAt;
+        if (!changed.isEmpty()) {
+            log.debug("Employee search index refreshed {} changed employees", changed.size());
+        }
+    }
+
+    private void reconcile() {
+        Set<Long> ids = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM employees", Long.class));
+        List<Long> missing = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            new ArrayList<>(documents.keySet()).stream().filter(id -> !ids.contains(id)).forEach(this::remove);
+            ids.stream().filter(id -> !documents.containsKey(id)).forEach(missing::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (int from = 0; from < missing.size(); from += 1000) {
+            List<Long> chunk = missing.subList(from, Math.min(missing.size(), from + 1000));
+            String in = String.join(",", chunk.stream().map(id -> "?").toList());
+            List<Document> loaded = new ArrayList<>();
+            jdbcTemplate.query(SELECT_ROWS + " WHERE e.id IN (" + in + ")", rs -> {
+                loaded.add(document(rs));
+            }, chunk.toArray());
+            put(loaded);
+        }
+        log.info("Employee search index reconciled with the table: {} employees added", missing.size());
+    }
+
+    // Newer snapshots win, so a refresh that read a row before a later commit cannot roll it back
+    private void put(Collection<Document> docs) {
+        lock.writeLock().lock();
+        try {
+            for (Document doc : docs) {
+                Document current = documents.get(doc.id());
+                if (current != null && current.updatedAt() != null && doc.updatedAt() != null
+                        && doc.updatedAt().isBefore(current.updatedAt())) {
+                    continue;
+                }
+                remove(doc.id());
+                index(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Document doc) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == bySlot.length) {
+                bySlot = Arrays.copyOf(bySlot, slotCount * 2);
+                idBySlot = Arrays.copyOf(idBySlot, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        documents.put(doc.id(), doc);
+        slotOf.put(doc.id(), slot);
+        bySlot[slot] = doc;
+        idBySlot[slot] = doc.id();
+        doc.terms().forEach((term, bits) -> {
+            Posting posting = postings.computeIfAbsent(term, t -> {
+                trigramsOf(t).forEach(gram -> trigrams.computeIfAbsent(gram + (char) t.length(), g -> new HashSet<>())
+                        .add(t));
+                termsByLength.add((char) t.length() + t);
+                longestTerm = Math.max(longestTerm, t.length());
+                return new Posting();
+            });
+            posting.add(slot, bits);
+        });
+    }
+
+    private void remove(Long id) {
+        Document doc = documents.remove(id);
+        if (doc == null) {
+            return;
+        }
+        int slot = slotOf.remove(id);
+        bySlot[slot] = null;
+        freeSlots.push(slot);
+        for (String term : doc.terms().keySet()) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(slot);
+            if (posting.size == 0) {
+                postings.remove(term);
+                termsByLength.remove((char) term.length() + term);
+                for (String gram : trigramsOf(term)) {
+                    String key = gram + (char) term.length();
+                    Set<String> terms = trigrams.get(key);
+                    if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                        trigrams.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    private String departmentName(Long departmentId) {
+        return departmentNames.computeIfAbsent(departmentId, id -> jdbcTemplate
+                .queryForList("SELECT name FROM departments WHERE id = ?", String.class, id)
+                .stream().findFirst().orElse(null));
+    }
+
+    private static Document document(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return document(rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"),
+                rs.getString("employee_id"), rs.getString("email"), rs.getString("department"),
+                rs.getString("position"), status != null ? Employee.Status.valueOf(status) : null,
+                updatedAt != null ? updatedAt.toLocalDateTime() : null);
+    }
+
+    private static Document document(Long id, String firstName, String lastName, String employeeId, String email,
+            String department, String position, Employee.Status status, LocalDateTime updatedAt) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        addTerms(terms, Field.NAME, firstName);
+        addTerms(terms, Field.NAME, lastName);
+        addTerms(terms, Field.EMPLOYEE_ID, employeeId);
+        if (employeeId != null) {
+            // "EMP-ENG-001" is also findable as typed without separators
+            addTerms(terms, Field.EMPLOYEE_ID, NON_ALNUM.matcher(employeeId).replaceAll(""));
+        }
+        addTerms(terms, Field.EMAIL, email);
+        addTerms(terms, Field.DEPARTMENT, department);
+        addTerms(terms, Field.POSITION, position);
+        String fullName = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+        return new Document(id, employeeId, fullName, email, department, position, status, updatedAt, terms);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, Field field, String value) {
+        for (String term : tokenize(value)) {
+            terms.merge(term, field.bit(), (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Lower-cased, accent-stripped alphanumeric runs, as the suggest index folds its keys
+     */
+    static List<String> tokenize(String text) {
+        return TextFolding.tokens(text);
+    }
+
+    // Trigrams of the term padded with boundary markers, so short terms still have some
+    static Set<String> trigramsOf(String term) {
+        String padded = "^" + term + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Optimal string alignment distance between a and b, or max + 1 once it is known to exceed max
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(prev[j] + 1, current[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], prevPrev[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = current;
+            current = recycled;
+        }
+        return prev[b.length()];
+    }
+}
@@ -3,8 +3,13 @@ package com.ems.ems_backend.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
+import com.ems.ems_backend.dto.CursorPage;
+import com.ems.ems_backend.dto.EmployeeFilter;
+import com.ems.ems_backend.dto.EmployeeSearchHit;
 import com.ems.ems_backend.model.Employee;
 
 public interface EmployeeService {
@@ -16,8 +21,13 @@ public interface EmployeeService {
     Employee getById(Long id);
     List<Employee> getAll();
 
+    // Listing operations for large tables
+    Page<Employee> list(EmployeeFilter filter, Pageable pageable);
+    CursorPage<Employee> list(EmployeeFilter filter, String cursor, int size);
+
     // Search operations
     List<Employee> search(String query);
+    Page<EmployeeSearchHit> search(String query, Pageable pageable);
     List<Employee> getEmployeesByDepartment(String department);
     List<Employee> getEmployeesByStatus(Employee.Status status);
     Optional<Employee> getEmployeeByUserId(Long userId);
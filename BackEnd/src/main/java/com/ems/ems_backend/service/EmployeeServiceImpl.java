@@ -1,16 +1,34 @@
 package com.ems.ems_backend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ems.ems_backend.dto.CursorPage;
+import com.ems.ems_backend.dto.EmployeeFilter;
+import com.ems.ems_backend.dto.EmployeeSearchHit;
 import com.ems.ems_backend.exception.DuplicateEmployeeException;
 import com.ems.ems_backend.exception.EmployeeNotFoundException;
 import com.ems.ems_backend.model.Employee;
 import com.ems.ems_backend.model.User;
 import com.ems.ems_backend.repository.EmployeeRepository;
+import com.ems.ems_backend.repository.spec.EmployeeSpecifications;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,7 +36,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // Properties clients may sort the paged listing by
+    private static final Set<String> SORTABLE = Set.of("id", "firstName", "lastName", "employeeId", "department",
+            "position", "status", "hireDate", "salary", "createdAt");
+
     private final EmployeeRepository employeeRepository;
+    private final EmployeeSearchIndex searchIndex;
+    private final EmployeeIdAllocator employeeIdAllocator;
+
+    @Value("${employee.listing.max-page-size:200}")
+    private int maxPageSize;
 
     @Override
     public Employee create(Employee employee) {
@@ -34,7 +61,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
         } else {
             // Generate employee ID if not provided
-            employee.setEmployeeId(generateEmployeeId(employee));
+            employee.setEmployeeId(employeeIdAllocator.next(employee.getDepartment()));
         }
 
         return employeeRepository.save(employee);
@@ -104,9 +131,69 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employeeRepository.findAllWithUsers();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Employee> list(EmployeeFilter filter, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort employees by " + order.getProperty());
+            }
+        }
+        Sort sort = pageable.getSort().and(Sort.by("id"));
+        Pageable bounded = PageRequest.of(pageable.getPageNumber(), boundedSize(pageable.getPageSize()), sort);
+        return employeeRepository.findAll(EmployeeSpecifications.matching(filter), bounded);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> list(EmployeeFilter filter, String cursor, int size) {
+        int limit = boundedSize(size);
+        Specification<Employee> spec = EmployeeSpecifications.matching(filter)
+                .and(EmployeeSpecifications.idAfter(decodeCursor(cursor)));
+        List<Employee> rows = employeeRepository.findBy(spec, q -> q
+                .project("user", "departmentEntity")
+                .sortBy(Sort.by("id"))
+                .limit(limit + 1)
+                .all());
+        return CursorPage.of(rows, limit, e -> e, e -> encodeCursor(e.getId()));
+    }
+
+    /**
+     * Best-ranked matches from the search index, capped at the maximum page size; falls back
+     * to the name LIKE query until the index has been built
+     */
     @Override
     public List<Employee> search(String query) {
-        return employeeRepository.findByNameContaining(query);
+        if (!searchIndex.isReady()) {
+            return employeeRepository.findByNameContaining(query);
+        }
+        List<Long> ids = searchIndex.search(query, PageRequest.of(0, maxPageSize)).map(EmployeeSearchHit::getId)
+                .getContent();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Employee> byId = employeeRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Page<EmployeeSearchHit> search(String query, Pageable pageable) {
+        Pageable bounded = PageRequest.of(pageable.getPageNumber(), boundedSize(pageable.getPageSize()));
+        if (!searchIndex.isReady()) {
+            Page<Employee> page = employeeRepository.findAll(EmployeeSpecifications.nameOrIdContains(query),
+                    PageRequest.of(bounded.getPageNumber(), bounded.getPageSize(), Sort.by("id")));
+            return page.map(e -> EmployeeSearchHit.builder()
+                    .id(e.getId())
+                    .employeeId(e.getEmployeeId())
+                    .fullName(e.getFullName())
+                    .email(e.getEmail())
+                    .department(e.getDepartmentName())
+                    .position(e.getPosition())
+                    .status(e.getStatus())
+                    .build());
+        }
+        return searchIndex.search(query, bounded);
     }
 
     @Override
@@ -140,20 +227,27 @@ public class EmployeeServiceImpl implements EmployeeService {
         return false;
     }
 
-    // Helper method for generating employee IDs
-    private String generateEmployeeId(Employee employee) {
-        String prefix = "EMP";
-        String departmentCode = "";
-
-        if (employee.getDepartment() != null) {
-            departmentCode = employee.getDepartment().substring(0,
-                    Math.min(3, employee.getDepartment().length())).toUpperCase();
+    private int boundedSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
         }
+        return Math.min(size, maxPageSize);
+    }
 
-        // Get next sequence number
-        long count = employeeRepository.count() + 1;
+    // Cursor for the id-ordered listing: the last id of the previous page, URL-safe encoded
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
 
-        return prefix + departmentCode + String.format("%03d", count);
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
     }
 
     // Helper method for generating usernames from first name + last name
@@ -0,0 +1,284 @@
+package com.ems.ems_backend.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ems.ems_backend.dto.EmployeeSuggestion;
+import com.ems.ems_backend.event.DepartmentChangedEvent;
+import com.ems.ems_backend.event.EmployeeChangedEvent;
+import com.ems.ems_backend.model.Employee;
+import com.ems.ems_backend.utils.TextFolding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prefix lookup for employee pickers over sorted arrays of folded keys (first name, last name,
+ * full name, "last first" and employee ID). A lookup is a binary search for the first key at or
+ * after the prefix and a forward scan that stops after {@code limit} distinct employees, so its
+ * cost does not depend on the number of employees.
+ * <p>
+ * Snapshots are immutable and replaced whole. Employee changes are queued after commit and merged
+ * into a new snapshot on the next scheduled check, without reading the table. A full rebuild is
+ * needed only when departments change or the table's row count or newest {@code updated_at}
+ * moved without a change event, and runs at most once per {@code min-rebuild-interval-ms}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeSuggestIndex {
+
+    private static final String SELECT_ROWS = """
+        SELECT e.id, e.first_name, e.last_name, e.employee_id, COALESCE(d.name, e.department) AS department
+        FROM employees e LEFT JOIN departments d ON d.id = e.department_id
+        WHERE e.status IS NULL OR e.status <> 'INACTIVE'
+        """;
+
+    private record Snapshot(String[] keys, int[] entryOf, EmployeeSuggestion[] entries, String tableState) {
+    }
+
+    /**
+     * Entries and their (unsorted) keys collected for a new snapshot
+     */
+    private static final class Builder {
+        private final List<EmployeeSuggestion> entries = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<Integer> owners = new ArrayList<>();
+
+        void add(Long id, String first, String last, String employeeId, String department) {
+            String fullName = ((first != null ? first : "") + " " + (last != null ? last : "")).trim();
+            int entry = entries.size();
+            entries.add(new EmployeeSuggestion(id, fullName, employeeId, department));
+            String lastFirst = first != null && last != null ? last + " " + first : null;
+            for (String key : new String[] {first, last, fullName, lastFirst, employeeId}) {
+                String folded = TextFolding.foldPhrase(key);
+                if (!folded.isEmpty()) {
+                    keys.add(folded);
+                    owners.add(entry);
+                }
+            }
+        }
+
+        // Key indexes in key order
+        Integer[] order() {
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+            return order;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Queue<EmployeeChangedEvent> pending = new ConcurrentLinkedQueue<>();
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new int[0], new EmployeeSuggestion[0], "");
+    private volatile boolean departmentsChanged;
+    private long lastRebuildNanos;
+
+    @Value("${employee.suggest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.suggest.min-rebuild-interval-ms:60000}")
+    private long minRebuildIntervalMs;
+
+    /**
+     * Up to {@code limit} employees with a key starting with the prefix, in key order
+     * (so an exact name match comes before longer names sharing its prefix)
+     */
+    public List<EmployeeSuggestion> suggest(String prefix, int limit) {
+        String folded = TextFolding.foldPhrase(prefix);
+        if (folded.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        int at = Arrays.binarySearch(current.keys(), folded);
+        if (at < 0) {
+            at = -at - 1;
+        }
+        int[] picked = new int[limit];
+        int count = 0;
+        for (int i = at; i < current.keys().length && count < limit && current.keys()[i].startsWith(folded); i++) {
+            int entry = current.entryOf()[i];
+            if (!contains(picked, count, entry)) {
+                picked[count++] = entry;
+            }
+        }
+        EmployeeSuggestion[] result = new EmployeeSuggestion[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = current.entries()[picked[i]];
+        }
+        return Arrays.asList(result);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (enabled) {
+            pending.add(event);
+        }
+    }
+
+    // Every suggestion shows its department name, so a rename or import needs a full rebuild
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        departmentsChanged = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (enabled) {
+            tryRebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.suggest.refresh-interval-ms:5000}")
+    public synchronized void refreshIfChanged() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, EmployeeChangedEvent> changes = new LinkedHashMap<>();
+        for (EmployeeChangedEvent event; (event = pending.poll()) != null; ) {
+            changes.put(event.getId(), event);
+        }
+        // Read after draining: commits whose events are still on their way are applied next time
+        String tableState = tableState();
+        if (!changes.isEmpty()) {
+            apply(changes, tableState);
+        }
+        boolean drifted = changes.isEmpty() && !tableState.equals(snapshot.tableState());
+        if ((drifted || departmentsChanged)
+                && System.nanoTime() - lastRebuildNanos >= TimeUnit.MILLISECONDS.toNanos(minRebuildIntervalMs)) {
+            tryRebuild();
+        }
+    }
+
+    // A failed build keeps the previous (at startup, empty) snapshot; its table state no longer
+    // matches, so the scheduled check tries again after min-rebuild-interval-ms
+    private void tryRebuild() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Employee suggest index build failed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lastRebuildNanos = start;
+        // Anything committed before the read below is in it; later events are re-applied on top
+        pending.clear();
+        departmentsChanged = false;
+        String tableState = tableState();
+        Builder builder = new Builder();
+        jdbcTemplate.query(SELECT_ROWS, rs -> {
+            builder.add(rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"),
+                    rs.getString("employee_id"), rs.getString("department"));
+        });
+
+        Integer[] order = builder.order();
+        String[] sortedKeys = new String[order.length];
+        int[] entryOf = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedKeys[i] = builder.keys.get(order[i]);
+            entryOf[i] = builder.owners.get(order[i]);
+        }
+        snapshot = new Snapshot(sortedKeys, entryOf, builder.entries.toArray(EmployeeSuggestion[]::new), tableState);
+        log.debug("Employee suggest index rebuilt: {} employees, {} keys in {} ms", builder.entries.size(),
+                sortedKeys.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Drop the changed employees' entries and merge their new keys into the sorted arrays
+    private void apply(Map<Long, EmployeeChangedEvent> changes, String tableState) {
+        Snapshot current = snapshot;
+        EmployeeSuggestion[] oldEntries = current.entries();
+        int[] remap = new int[oldEntries.length];
+        int kept = 0;
+        for (int i = 0; i < oldEntries.length; i++) {
+            remap[i] = changes.containsKey(oldEntries[i].getId()) ? -1 : kept++;
+        }
+
+        Builder added = new Builder();
+        for (EmployeeChangedEvent event : changes.values()) {
+            if (event.isDeleted() || event.getStatus() == Employee.Status.INACTIVE) {
+                continue;
+            }
+            String department = event.getDepartmentName() != null ? event.getDepartmentName() : event.getDepartment();
+            added.add(event.getId(), event.getFirstName(), event.getLastName(), event.getEmployeeId(), department);
+        }
+
+        EmployeeSuggestion[] entries = new EmployeeSuggestion[kept + added.entries.size()];
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (remap[i] >= 0) {
+                entries[remap[i]] = oldEntries[i];
+            }
+        }
+        for (int i = 0; i < added.entries.size(); i++) {
+            entries[kept + i] = added.entries.get(i);
+        }
+
+        String[] oldKeys = current.keys();
+        int[] oldEntryOf = current.entryOf();
+        Integer[] order = added.order();
+        int survivors = 0;
+        for (int owner : oldEntryOf) {
+            if (remap[owner] >= 0) {
+                survivors++;
+            }
+        }
+        String[] keys = new String[survivors + order.length];
+        int[] entryOf = new int[keys.length];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < keys.length; k++) {
+            while (i < oldKeys.length && remap[oldEntryOf[i]] < 0) {
+                i++;
+            }
+            if (j == order.length || (i < oldKeys.length && oldKeys[i].compareTo(added.keys.get(order[j])) <= 0)) {
+                keys[k] = oldKeys[i];
+                entryOf[k] = remap[oldEntryOf[i]];
+                i++;
+            } else {
+                keys[k] = added.keys.get(order[j]);
+                entryOf[k] = kept + added.owners.get(order[j]);
+                j++;
+            }
+        }
+        snapshot = new Snapshot(keys, entryOf, entries, tableState);
+        log.debug("Employee suggest index applied {} changes", changes.size());
+    }
+
+    // Row count and newest update; a change without a change event means rows were written outside JPA
+    private String tableState() {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT COUNT(*) AS cnt, MAX(updated_at) AS latest FROM employees");
+        Object latest = row.get("latest");
+        return row.get("cnt") + "|" + (latest instanceof Timestamp ts ? ts.toLocalDateTime() : Objects.toString(latest));
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
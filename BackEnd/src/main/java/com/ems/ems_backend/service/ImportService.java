@@ -0,0 +1,161 @@
+package com.ems.ems_backend.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ems.ems_backend.batch.ImportErrorListener;
+import com.ems.ems_backend.config.ImportJobConfig;
+import com.ems.ems_backend.dto.ImportProgress;
+import com.ems.ems_backend.exception.NotFoundException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts, restarts and reports on the file import jobs. Uploads are stored under
+ * {@code import.dir} until their job completes and are processed in the background; progress is read from the batch
+ * metadata tables, so it is available from any instance.
+ */
+@Service
+@Slf4j
+public class ImportService {
+
+    private final JobExplorer jobExplorer;
+    private final TaskExecutorJobLauncher launcher;
+    private final Map<String, Job> jobs;
+
+    @Value("${import.dir:imports}")
+    private String importDir;
+
+    public ImportService(JobRepository jobRepository, JobExplorer jobExplorer,
+            @Qualifier(ImportJobConfig.EMPLOYEE_IMPORT_JOB) Job employeeImportJob,
+            @Qualifier(ImportJobConfig.DEPARTMENT_IMPORT_JOB) Job departmentImportJob) throws Exception {
+        this.jobExplorer = jobExplorer;
+        this.jobs = Map.of("employees", employeeImportJob, "departments", departmentImportJob);
+        // The default launcher runs jobs on the calling thread; imports return as soon as they start
+        this.launcher = new TaskExecutorJobLauncher();
+        this.launcher.setJobRepository(jobRepository);
+        this.launcher.setTaskExecutor(new SimpleAsyncTaskExecutor("import-"));
+        this.launcher.afterPropertiesSet();
+    }
+
+    /**
+     * Store the upload and start importing it; type is "employees" or "departments"
+     */
+    public ImportProgress start(String type, MultipartFile file) throws Exception {
+        Job job = jobs.get(type.toLowerCase(Locale.ROOT));
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown import type: " + type + " (expected " + jobs.keySet() + ")");
+        }
+        String name = file.getOriginalFilename() != null ? Paths.get(file.getOriginalFilename()).getFileName().toString() : "";
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (!lower.endsWith(".csv") && !lower.endsWith(".xlsx")) {
+            throw new IllegalArgumentException("Import files must be .csv or .xlsx");
+        }
+        Path target = store(file, name);
+        JobParameters parameters = new JobParametersBuilder()
+                .addString(ImportJobConfig.FILE_PARAMETER, target.toAbsolutePath().toString())
+                .addString("originalName", name, false)
+                .toJobParameters();
+        JobExecution execution = launcher.run(job, parameters);
+        log.info("Started {} import {} of {}", type, execution.getId(), name);
+        return progress(execution);
+    }
+
+    /**
+     * Run a failed or stopped import again; it resumes after its last committed chunk
+     */
+    public ImportProgress restart(Long executionId) throws Exception {
+        JobExecution previous = execution(executionId);
+        if (previous.getStatus() != BatchStatus.FAILED && previous.getStatus() != BatchStatus.STOPPED) {
+            throw new IllegalArgumentException("Import " + executionId + " is " + previous.getStatus() + " and cannot be restarted");
+        }
+        Job job = jobs.values().stream()
+                .filter(j -> j.getName().equals(previous.getJobInstance().getJobName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Import " + executionId + " is not a file import"));
+        JobExecution execution = launcher.run(job, previous.getJobParameters());
+        log.info("Restarted import {} as {}", executionId, execution.getId());
+        return progress(execution);
+    }
+
+    public ImportProgress progress(Long executionId) {
+        return progress(execution(executionId));
+    }
+
+    private JobExecution execution(Long executionId) {
+        JobExecution execution = jobExplorer.getJobExecution(executionId);
+        if (execution == null) {
+            throw new NotFoundException("Import", executionId);
+        }
+        return execution;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ImportProgress progress(JobExecution execution) {
+        long read = 0, written = 0, skipped = 0, commits = 0, rollbacks = 0;
+        List<String> errors = new ArrayList<>();
+        for (StepExecution step : execution.getStepExecutions()) {
+            read += step.getReadCount();
+            written += step.getWriteCount();
+            skipped += step.getSkipCount();
+            commits += step.getCommitCount();
+            rollbacks += step.getRollbackCount();
+            Object stepErrors = step.getExecutionContext().get(ImportErrorListener.ERRORS_KEY);
+            if (stepErrors instanceof List<?> list) {
+                errors.addAll((List<String>) list);
+            }
+        }
+        LocalDateTime start = execution.getStartTime();
+        LocalDateTime end = execution.getEndTime() != null ? execution.getEndTime() : LocalDateTime.now();
+        double seconds = start != null ? Duration.between(start, end).toMillis() / 1000.0 : 0;
+        return ImportProgress.builder()
+                .executionId(execution.getId())
+                .job(execution.getJobInstance().getJobName())
+                .file(execution.getJobParameters().getString("originalName"))
+                .status(execution.getStatus().name())
+                .exitDescription(execution.getExitStatus().getExitDescription())
+                .read(read)
+                .written(written)
+                .skipped(skipped)
+                .commits(commits)
+                .rollbacks(rollbacks)
+                .rowsPerSecond(seconds > 0 ? Math.round(read / seconds * 10) / 10.0 : 0)
+                .startTime(start)
+                .endTime(execution.getEndTime())
+                .restartable(execution.getStatus() == BatchStatus.FAILED || execution.getStatus() == BatchStatus.STOPPED)
+                .errors(errors)
+                .build();
+    }
+
+    private Path store(MultipartFile file, String name) throws IOException {
+        Path dir = Paths.get(importDir);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(UUID.randomUUID() + "-" + name);
+        file.transferTo(target);
+        return target;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ems.ems_backend.service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ems.ems_backend.dto.NotificationTemplate;
+import com.ems.ems_backend.model.Notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Digest stage in front of notification writes. Events for digest types (or with an explicit
+ * group key) merge into the recipient's unread notification of the same group created within
+ * the window: its count goes up and its stored body becomes the latest event, instead of a new
+ * row. Readers see "N updates" followed by that body (see NotificationResponse).
+ * <p>
+ * A digest keeps the created_at of its first event, so it never moves between (created_at, id)
+ * keyset pages and the window closes window-minutes after the digest opened; the next event
+ * then starts a new digest. Merged rows stay unread, so the per-user counters do not change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationCoalescingService {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    // Locks the open digests so they cannot be read or deleted before the merge
+    private static final String FIND_OPEN_SQL = """
+        SELECT id, recipient_id FROM notifications
+        WHERE recipient_id IN (:recipientIds) AND group_key = :groupKey
+          AND is_read = false AND created_at >= :windowStart
+        FOR UPDATE
+        """;
+
+    private static final String MERGE_SQL = """
+        UPDATE notifications
+        SET group_count = group_count + 1, title = :title, message = :message, action_url = :actionUrl,
+            action_label = :actionLabel, message_id = :messageId, expires_at = :expiresAt
+        WHERE id IN (:ids)
+        """;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Value("${notification.digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.digest.types:EMPLOYEE_UPDATE,DEPARTMENT_UPDATE}")
+    private Set<Notification.NotificationType> digestTypes;
+
+    @Value("${notification.digest.window-minutes:60}")
+    private long windowMinutes;
+
+    /**
+     * Group key for an event, or null if it should always get its own row
+     */
+    public String groupKeyFor(Notification.NotificationType type, String explicitKey) {
+        if (!enabled) {
+            return null;
+        }
+        if (explicitKey != null && !explicitKey.isBlank()) {
+            return explicitKey;
+        }
+        return type != null && digestTypes.contains(type) ? type.name() : null;
+    }
+
+    /**
+     * Merge the template into each recipient's open digest; returns the recipients that were merged.
+     * With a shared message id the merged rows point at it, otherwise the body is stored inline.
+     */
+    public Set<Long> merge(Collection<Long> recipientIds, String groupKey, NotificationTemplate template,
+            Long messageId, LocalDateTime createdAt) {
+        Map<Long, Long> open = findOpenDigests(recipientIds, groupKey, createdAt.minusMinutes(windowMinutes));
+        if (open.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        boolean inline = messageId == null;
+        List<Long> digestIds = new ArrayList<>(open.values());
+        for (int from = 0; from < digestIds.size(); from += LOOKUP_CHUNK) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("title", inline ? template.getTitle() : null)
+                    .addValue("message", inline ? template.getMessage() : null)
+                    .addValue("actionUrl", inline ? template.getActionUrl() : null)
+                    .addValue("actionLabel", inline ? template.getActionLabel() : null)
+                    .addValue("messageId", messageId, Types.BIGINT)
+                    .addValue("expiresAt", template.getExpiresAt() != null ? Timestamp.valueOf(template.getExpiresAt()) : null,
+                            Types.TIMESTAMP)
+                    .addValue("ids", digestIds.subList(from, Math.min(from + LOOKUP_CHUNK, digestIds.size())));
+            namedJdbcTemplate.update(MERGE_SQL, params);
+        }
+        log.debug("Coalesced '{}' into {} open digests", groupKey, open.size());
+        return open.keySet();
+    }
+
+    // recipient id -> newest open digest id
+    private Map<Long, Long> findOpenDigests(Collection<Long> recipientIds, String groupKey, LocalDateTime windowStart) {
+        List<Long> ids = new ArrayList<>(recipientIds);
+        Map<Long, Long> open = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("recipientIds", ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size())))
+                    .addValue("groupKey", groupKey)
+                    .addValue("windowStart", Timestamp.valueOf(windowStart));
+            namedJdbcTemplate.query(FIND_OPEN_SQL, params,
+                    (RowCallbackHandler) rs -> {
+                        open.merge(rs.getLong("recipient_id"), rs.getLong("id"), Math::max);
+                    });
+        }
+        return open;
+    }
+}
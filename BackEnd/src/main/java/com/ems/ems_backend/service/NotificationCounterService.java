@@ -0,0 +1,244 @@
+package com.ems.ems_backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ems.ems_backend.dto.NotificationCounts;
+import com.ems.ems_backend.exception.NotFoundException;
+import com.ems.ems_backend.model.Notification;
+import com.ems.ems_backend.repository.NotificationCounterRepository;
+import com.ems.ems_backend.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persisted per-user notification counters with an in-memory read cache.
+ * Writers apply relative deltas in SQL; cached entries are dropped after commit
+ * and reloaded with a single primary-key read. A missing counter row is rebuilt
+ * from one aggregate query on first access.
+ */
+@Service
+@Slf4j
+@Transactional
+public class NotificationCounterService {
+
+    private static final String APPLY_DELTA_SQL = """
+        UPDATE notification_counters
+        SET total_count = total_count + ?, unread_count = unread_count + ?,
+            high_unread_count = high_unread_count + ?, urgent_unread_count = urgent_unread_count + ?,
+            updated_at = ?
+        WHERE user_id = ?
+        """;
+
+    // Aggregate and write in one statement: INSERT ... SELECT takes locking reads on the
+    // recipient's notifications, so it waits for an uncommitted create instead of missing it,
+    // and a create that starts later waits for the counter row and then updates it
+    private static final String REBUILD_SQL = """
+        INSERT INTO notification_counters
+            (user_id, total_count, unread_count, high_unread_count, urgent_unread_count, updated_at)
+        SELECT ?, COUNT(*),
+            COALESCE(SUM(CASE WHEN is_read = FALSE THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN is_read = FALSE AND priority = 'HIGH' THEN 1 ELSE 0 END), 0),
+            COALESCE(SUM(CASE WHEN is_read = FALSE AND priority = 'URGENT' THEN 1 ELSE 0 END), 0),
+            ?
+        FROM notifications
+        WHERE recipient_id = ?
+        ON DUPLICATE KEY UPDATE
+            total_count = VALUES(total_count), unread_count = VALUES(unread_count),
+            high_unread_count = VALUES(high_unread_count), urgent_unread_count = VALUES(urgent_unread_count),
+            updated_at = VALUES(updated_at)
+        """;
+
+    private final NotificationCounterRepository counterRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate rebuildTransaction;
+
+    private final Map<Long, NotificationCounts> cache = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a load that overlapped one is returned but not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public NotificationCounterService(NotificationCounterRepository counterRepository,
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Rebuilds write a counter row even when the caller is in a read-only transaction
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Current counters for a user, served from memory when possible
+     */
+    public NotificationCounts getCounts(Long userId) {
+        NotificationCounts cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        // Loaded outside the map so a slow rebuild never blocks readers of other users
+        long generation = evictions.get();
+        NotificationCounts loaded = load(userId);
+        if (evictions.get() != generation) {
+            return loaded;
+        }
+        NotificationCounts raced = cache.putIfAbsent(userId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * A notification was created for the user
+     */
+    public void onCreated(Long userId, Notification.NotificationPriority priority) {
+        applyDelta(userId, 1, 1, priority);
+    }
+
+    /**
+     * The same notification was created for every recipient, e.g. by a broadcast
+     */
+    public void onCreated(Collection<Long> userIds, Notification.NotificationPriority priority) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long high = priority == Notification.NotificationPriority.HIGH ? 1 : 0;
+        long urgent = priority == Notification.NotificationPriority.URGENT ? 1 : 0;
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, userIds, 500, (ps, userId) -> {
+            ps.setLong(1, 1);
+            ps.setLong(2, 1);
+            ps.setLong(3, high);
+            ps.setLong(4, urgent);
+            ps.setTimestamp(5, now);
+            ps.setLong(6, userId);
+        });
+        evictAfterCommit(userIds);
+    }
+
+    /**
+     * A single unread notification was marked as read
+     */
+    public void onRead(Long userId, Notification.NotificationPriority priority) {
+        applyDelta(userId, 0, -1, priority);
+    }
+
+    /**
+     * All of the user's notifications were marked as read
+     */
+    public void onAllRead(Long userId) {
+        counterRepository.resetUnread(userId, LocalDateTime.now());
+        evictAfterCommit(List.of(userId));
+    }
+
+    /**
+     * A single notification was deleted
+     */
+    public void onDeleted(Long userId, Notification.NotificationPriority priority, boolean wasUnread) {
+        if (wasUnread) {
+            applyDelta(userId, -1, -1, priority);
+        } else {
+            applyDelta(userId, -1, 0, null);
+        }
+    }
+
+    /**
+     * Notifications were removed in bulk; counts hold what was removed per recipient
+     */
+    public void onRemoved(List<NotificationCounts> removed) {
+        if (removed.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, removed, 500, (ps, counts) -> {
+            ps.setLong(1, -counts.getTotal());
+            ps.setLong(2, -counts.getUnread());
+            ps.setLong(3, -counts.getHighUnread());
+            ps.setLong(4, -counts.getUrgentUnread());
+            ps.setTimestamp(5, now);
+            ps.setLong(6, counts.getUserId());
+        });
+        evictAfterCommit(removed.stream().map(NotificationCounts::getUserId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Drop a user's counters after a set-based change whose per-priority effect is unknown;
+     * the next read rebuilds them from one aggregate query
+     */
+    public void invalidate(Long userId) {
+        counterRepository.deleteById(userId);
+        evictAfterCommit(List.of(userId));
+    }
+
+    /**
+     * Recompute a user's counters from the notifications table
+     */
+    public NotificationCounts rebuild(Long userId) {
+        NotificationCounts counts = persistAggregate(userId);
+        evictAfterCommit(List.of(userId));
+        return counts;
+    }
+
+    private void applyDelta(Long userId, long total, long unread, Notification.NotificationPriority priority) {
+        long high = priority == Notification.NotificationPriority.HIGH ? unread : 0;
+        long urgent = priority == Notification.NotificationPriority.URGENT ? unread : 0;
+        counterRepository.applyDelta(userId, total, unread, high, urgent, LocalDateTime.now());
+        evictAfterCommit(List.of(userId));
+    }
+
+    private NotificationCounts load(Long userId) {
+        return counterRepository.findById(userId)
+                .map(NotificationCounts::fromCounter)
+                .orElseGet(() -> {
+                    if (!userRepository.existsById(userId)) {
+                        throw new NotFoundException("User not found with id: " + userId);
+                    }
+                    log.debug("Building notification counters for user {}", userId);
+                    return persistAggregate(userId);
+                });
+    }
+
+    private NotificationCounts persistAggregate(Long userId) {
+        return rebuildTransaction.execute(status -> {
+            // Upsert, so instances rebuilding the same user concurrently never hit a duplicate key
+            jdbcTemplate.update(REBUILD_SQL, userId, Timestamp.valueOf(LocalDateTime.now()), userId);
+            return counterRepository.findById(userId)
+                    .map(NotificationCounts::fromCounter)
+                    .orElseGet(() -> NotificationCounts.empty(userId));
+        });
+    }
+
+    // Cached values are only dropped once the new counts are visible to other transactions
+    private void evictAfterCommit(Collection<Long> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(userIds);
+            }
+        });
+    }
+
+    private void evict(Collection<Long> userIds) {
+        evictions.incrementAndGet();
+        userIds.forEach(cache::remove);
+    }
+}
@@ -0,0 +1,151 @@
+package com.ems.ems_backend.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.ems_backend.dto.FanoutResult;
+import com.ems.ems_backend.dto.NotificationTemplate;
+import com.ems.ems_backend.event.NotificationCreatedEvent;
+import com.ems.ems_backend.model.Notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes one notification template to many recipients using JDBC batch inserts.
+ * Recipients are passed as user ids so no User entities are loaded.
+ * Broadcasts above the shared-message threshold store the body once in
+ * {@code notification_message} and write thin per-recipient rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationFanoutService {
+
+    private static final String INSERT_NOTIFICATION_SQL = """
+        INSERT INTO notifications
+            (recipient_id, sender_id, title, message, type, priority, is_read, created_at, expires_at,
+             action_url, action_label, message_id, group_key, group_count)
+        VALUES (?, ?, ?, ?, ?, ?, false, ?, ?, ?, ?, ?, ?, 1)
+        """;
+
+    private static final String INSERT_MESSAGE_SQL = """
+        INSERT INTO notification_message (title, message, action_url, action_label, created_at)
+        VALUES (?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationInboxCache notificationInboxCache;
+    private final NotificationCoalescingService notificationCoalescingService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${notification.fanout.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notification.storage.shared-messages:true}")
+    private boolean sharedMessages;
+
+    @Value("${notification.storage.shared-message-min-recipients:10}")
+    private int sharedMessageMinRecipients;
+
+    /**
+     * Insert the template for every recipient in fixed-size batches
+     */
+    @Transactional
+    public FanoutResult fanout(Collection<Long> recipientIds, NotificationTemplate template) {
+        List<Long> recipients = recipientIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (recipients.isEmpty()) {
+            return FanoutResult.empty();
+        }
+
+        Notification.NotificationType type = template.getType() != null
+                ? template.getType() : Notification.NotificationType.INFO;
+        Notification.NotificationPriority priority = template.getPriority() != null
+                ? template.getPriority() : Notification.NotificationPriority.NORMAL;
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Timestamp expiresAt = template.getExpiresAt() != null ? Timestamp.valueOf(template.getExpiresAt()) : null;
+        String groupKey = notificationCoalescingService.groupKeyFor(type, template.getGroupKey());
+
+        long start = System.nanoTime();
+        // Large broadcasts store the body once and give each recipient a thin row
+        Long messageId = useSharedMessage(recipients.size()) ? insertSharedMessage(template, createdAt) : null;
+        boolean inline = messageId == null;
+
+        // Recipients with an open digest for this group get it updated instead of a new row
+        Set<Long> merged = groupKey != null
+                ? notificationCoalescingService.merge(recipients, groupKey, template, messageId, now)
+                : Set.of();
+        List<Long> newRows = merged.isEmpty() ? recipients
+                : recipients.stream().filter(id -> !merged.contains(id)).collect(Collectors.toList());
+
+        int batches = 0;
+        for (int from = 0; from < newRows.size(); from += batchSize) {
+            List<Long> chunk = newRows.subList(from, Math.min(from + batchSize, newRows.size()));
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, chunk, chunk.size(), (ps, recipientId) -> {
+                ps.setLong(1, recipientId);
+                ps.setObject(2, template.getSenderId(), Types.BIGINT);
+                ps.setString(3, inline ? template.getTitle() : null);
+                ps.setString(4, inline ? template.getMessage() : null);
+                ps.setString(5, type.name());
+                ps.setString(6, priority.name());
+                ps.setTimestamp(7, createdAt);
+                ps.setTimestamp(8, expiresAt);
+                ps.setString(9, inline ? template.getActionUrl() : null);
+                ps.setString(10, inline ? template.getActionLabel() : null);
+                ps.setObject(11, messageId, Types.BIGINT);
+                ps.setString(12, groupKey);
+            });
+            batches++;
+        }
+        // Merged digests were already unread, so only new rows change the counters
+        notificationCounterService.onCreated(newRows, priority);
+        notificationInboxCache.invalidate(recipients);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(recipients, null, template.getTitle(), type, priority));
+
+        FanoutResult result = FanoutResult.of(recipients.size(), batches, System.nanoTime() - start);
+        result.setCoalesced(merged.size());
+        log.info("Fan-out '{}' reached {} recipients ({} coalesced) in {} batches ({} ms, {} rows/sec)",
+                template.getTitle(), result.getRecipients(), result.getCoalesced(), result.getBatches(),
+                result.getElapsedMillis(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private boolean useSharedMessage(int recipientCount) {
+        return sharedMessages && recipientCount >= Math.max(sharedMessageMinRecipients, 2);
+    }
+
+    private Long insertSharedMessage(NotificationTemplate template, Timestamp createdAt) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_MESSAGE_SQL, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, template.getTitle());
+            ps.setString(2, template.getMessage());
+            ps.setString(3, template.getActionUrl());
+            ps.setString(4, template.getActionLabel());
+            ps.setTimestamp(5, createdAt);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}
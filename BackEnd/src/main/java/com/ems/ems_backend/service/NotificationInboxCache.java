@@ -0,0 +1,341 @@
+package com.ems.ems_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ems.ems_backend.dto.NotificationResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the top of each user's inbox: the newest {@code head-size} notifications
+ * in inbox order. Entries are evicted least-recently-used once their estimated size exceeds
+ * {@code max-bytes}. Writers apply their change to a cached head after commit (write-through);
+ * changes that cannot be applied row by row drop the entry instead.
+ * <p>
+ * A head loaded from the database is only stored if no write for that user committed since
+ * the load began, which is checked with a striped modification stamp.
+ */
+@Service
+@Slf4j
+public class NotificationInboxCache {
+
+    private static final int STAMP_STRIPES = 64;
+
+    // Rough heap cost of an entry, a cached response and a string, excluding characters
+    private static final long ENTRY_OVERHEAD_BYTES = 120;
+    private static final long RESPONSE_OVERHEAD_BYTES = 136;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final LinkedHashMap<Long, Inbox> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long usedBytes;
+
+    @Value("${notification.inbox-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.inbox-cache.head-size:50}")
+    private int headSize;
+
+    @Value("${notification.inbox-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    public NotificationInboxCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("notification.inbox.cache.requests")
+                .description("Inbox cache lookups by result")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("notification.inbox.cache.requests")
+                .description("Inbox cache lookups by result")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("notification.inbox.cache.evictions")
+                .description("Inbox cache entries evicted to stay within the memory budget")
+                .register(meterRegistry);
+        Gauge.builder("notification.inbox.cache.hit.ratio", this, NotificationInboxCache::hitRatio)
+                .description("Share of inbox cache lookups served from memory")
+                .register(meterRegistry);
+        Gauge.builder("notification.inbox.cache.size.bytes", this, cache -> cache.usedBytes())
+                .description("Estimated heap used by cached inbox heads")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("notification.inbox.cache.entries", this, cache -> cache.entryCount())
+                .description("Users with a cached inbox head")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int headSize() {
+        return headSize;
+    }
+
+    /**
+     * Take before reading the head from the database and pass to {@link #put}
+     */
+    public long stamp(Long userId) {
+        return stamps.get(stripe(userId));
+    }
+
+    /**
+     * Cached head for the user, or null on a miss
+     */
+    public Inbox get(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        Inbox inbox;
+        synchronized (entries) {
+            inbox = entries.get(userId);
+        }
+        (inbox != null ? hits : misses).increment();
+        return inbox;
+    }
+
+    /**
+     * Store a head read from the database; {@code rows} may hold one row more than the head size,
+     * which only signals that the inbox continues. Returns the head whether or not it was stored.
+     */
+    public Inbox put(Long userId, long stamp, List<NotificationResponse> rows) {
+        boolean complete = rows.size() <= headSize;
+        Inbox inbox = new Inbox(List.copyOf(complete ? rows : rows.subList(0, headSize)), complete);
+        if (enabled && stamps.get(stripe(userId)) == stamp) {
+            synchronized (entries) {
+                // Re-check under the lock so a write that committed meanwhile is not overwritten
+                if (stamps.get(stripe(userId)) == stamp) {
+                    store(userId, inbox);
+                }
+            }
+        }
+        return inbox;
+    }
+
+    /**
+     * A notification was created for the user
+     */
+    public void onCreated(Long userId, NotificationResponse notification) {
+        afterCommit(List.of(userId), inbox -> {
+            List<NotificationResponse> head = new ArrayList<>(inbox.head().size() + 1);
+            head.add(notification);
+            inbox.head().stream().filter(n -> !n.getId().equals(notification.getId())).forEach(head::add);
+            boolean complete = inbox.complete() && head.size() <= headSize;
+            return new Inbox(List.copyOf(head.size() > headSize ? head.subList(0, headSize) : head), complete);
+        });
+    }
+
+    /**
+     * An event was merged into one of the user's digests; the digest keeps its place in the inbox
+     */
+    public void onMerged(Long userId, NotificationResponse digest) {
+        afterCommit(List.of(userId), inbox -> inbox.map(n -> n.getId().equals(digest.getId()) ? digest : n));
+    }
+
+    /**
+     * Notifications of the user were marked as read
+     */
+    public void onRead(Long userId, Collection<Long> ids, LocalDateTime readAt) {
+        Set<Long> read = Set.copyOf(ids);
+        afterCommit(List.of(userId), inbox -> inbox.map(n -> read.contains(n.getId()) ? markedRead(n, readAt) : n));
+    }
+
+    /**
+     * All of the user's notifications were marked as read
+     */
+    public void onAllRead(Long userId, LocalDateTime readAt) {
+        afterCommit(List.of(userId), inbox -> inbox.map(n -> markedRead(n, readAt)));
+    }
+
+    /**
+     * Notifications of the user were deleted; a head minus some rows is still a prefix of the inbox
+     */
+    public void onDeleted(Long userId, Collection<Long> ids) {
+        onDeleted(Map.of(userId, ids));
+    }
+
+    /**
+     * Notifications were deleted for several users, keyed by recipient
+     */
+    public void onDeleted(Map<Long, ? extends Collection<Long>> idsByUser) {
+        if (!enabled || idsByUser.isEmpty()) {
+            return;
+        }
+        runAfterCommit(() -> idsByUser.forEach((userId, ids) -> {
+            Set<Long> removed = Set.copyOf(ids);
+            apply(userId, inbox -> new Inbox(inbox.head().stream()
+                    .filter(n -> !removed.contains(n.getId()))
+                    .collect(Collectors.toUnmodifiableList()), inbox.complete()));
+        }));
+    }
+
+    /**
+     * Drop cached heads after a change that cannot be applied row by row
+     */
+    public void invalidate(Collection<Long> userIds) {
+        afterCommit(userIds, inbox -> null);
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    public double hitRatio() {
+        double lookups = hits.count() + misses.count();
+        return lookups == 0 ? 0 : hits.count() / lookups;
+    }
+
+    private long usedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    private int entryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void afterCommit(Collection<Long> userIds, UnaryOperator<Inbox> change) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        List<Long> users = List.copyOf(userIds);
+        runAfterCommit(() -> users.forEach(userId -> apply(userId, change)));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Changes are idempotent, so applying one to a head that was loaded after the commit is harmless
+    private void apply(Long userId, UnaryOperator<Inbox> change) {
+        synchronized (entries) {
+            stamps.incrementAndGet(stripe(userId));
+            Inbox current = entries.get(userId);
+            if (current == null) {
+                return;
+            }
+            remove(userId);
+            Inbox updated = change.apply(current);
+            if (updated != null) {
+                store(userId, updated);
+            }
+        }
+    }
+
+    private void store(Long userId, Inbox inbox) {
+        long size = estimateSize(inbox);
+        if (size > maxBytes) {
+            return;
+        }
+        remove(userId);
+        entries.put(userId, inbox.withSize(size));
+        usedBytes += size;
+        Iterator<Map.Entry<Long, Inbox>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().sizeBytes();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(Long userId) {
+        Inbox removed = entries.remove(userId);
+        if (removed != null) {
+            usedBytes -= removed.sizeBytes();
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) STAMP_STRIPES);
+    }
+
+    private static long estimateSize(Inbox inbox) {
+        long size = ENTRY_OVERHEAD_BYTES;
+        for (NotificationResponse n : inbox.head()) {
+            size += RESPONSE_OVERHEAD_BYTES
+                    + stringSize(n.getTitle()) + stringSize(n.getMessage())
+                    + stringSize(n.getActionUrl()) + stringSize(n.getActionLabel())
+                    + stringSize(n.getRecipientName()) + stringSize(n.getSenderName());
+        }
+        return size;
+    }
+
+    private static long stringSize(String value) {
+        // Compact strings: one byte per Latin-1 character, two otherwise; assume the worse case
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private static NotificationResponse markedRead(NotificationResponse n, LocalDateTime readAt) {
+        return Boolean.TRUE.equals(n.getIsRead()) ? n : n.toBuilder().isRead(true).readAt(readAt).build();
+    }
+
+    /**
+     * Newest notifications of one user in inbox order. {@code complete} means the head is the whole inbox.
+     */
+    public record Inbox(List<NotificationResponse> head, boolean complete, long sizeBytes) {
+
+        Inbox(List<NotificationResponse> head, boolean complete) {
+            this(head, complete, 0);
+        }
+
+        Inbox withSize(long size) {
+            return new Inbox(head, complete, size);
+        }
+
+        Inbox map(UnaryOperator<NotificationResponse> mapper) {
+            return new Inbox(head.stream().map(mapper).collect(Collectors.toUnmodifiableList()), complete);
+        }
+
+        /**
+         * First {@code count} rows of the inbox, or null if the head is too short to know them
+         */
+        public List<NotificationResponse> first(int count) {
+            if (head.size() >= count) {
+                return head.subList(0, count);
+            }
+            return complete ? head : null;
+        }
+
+        public List<NotificationResponse> unread() {
+            return head.stream().filter(n -> !Boolean.TRUE.equals(n.getIsRead())).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.ems.ems_backend.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ems.ems_backend.config.NotificationConfig;
+import com.ems.ems_backend.dto.FanoutResult;
+import com.ems.ems_backend.dto.NotificationTemplate;
+import com.ems.ems_backend.model.NotificationOutbox;
+import com.ems.ems_backend.model.User;
+import com.ems.ems_backend.repository.NotificationOutboxRepository;
+import com.ems.ems_backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox for notifications. Callers enqueue inside their own transaction, so a
+ * notification exists exactly when the business change that caused it was committed.
+ * A scheduled poller claims due entries in batches and delivers them through
+ * {@link NotificationFanoutService} on the notification executor, retrying failures with
+ * exponential backoff until they are delivered or marked DEAD.
+ * <p>
+ * HIGH and URGENT entries go to the priority lane, which has its own faster poller and its own
+ * executor, so their delivery latency does not depend on how many broadcasts are queued.
+ */
+@Service
+@Slf4j
+public class NotificationOutboxService {
+
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    private static final String INSERT_IGNORE_SQL = """
+        INSERT IGNORE INTO notification_outbox (idempotency_key, audience_type, audience, sender_id, title, message,
+            type, priority, expires_at, action_url, action_label, group_key, lane, status, attempts, next_attempt_at,
+            created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+        """;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final NotificationFanoutService notificationFanoutService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final AsyncTaskExecutor executor;
+    private final AsyncTaskExecutor priorityExecutor;
+    private final TransactionTemplate outboxTransaction;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+    private final Map<NotificationOutbox.Lane, Timer> deliveryLatency = new EnumMap<>(NotificationOutbox.Lane.class);
+
+    @Value("${notification.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.outbox.concurrency:2}")
+    private int concurrency;
+
+    @Value("${notification.outbox.priority-batch-size:20}")
+    private int priorityBatchSize;
+
+    @Value("${notification.outbox.priority-concurrency:2}")
+    private int priorityConcurrency;
+
+    @Value("${notification.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.backoff-initial-ms:5000}")
+    private long backoffInitialMs;
+
+    @Value("${notification.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${notification.outbox.stale-claim-minutes:10}")
+    private long staleClaimMinutes;
+
+    // A DISCARD/DISCARD_OLDEST executor drops tasks without completing their futures; the poller
+    // waits at most this long before handing the undelivered claims back to the queue
+    @Value("${notification.outbox.drain-timeout-seconds:120}")
+    private long drainTimeoutSeconds;
+
+    public NotificationOutboxService(NotificationOutboxRepository outboxRepository,
+            UserRepository userRepository,
+            NotificationFanoutService notificationFanoutService,
+            JdbcTemplate jdbcTemplate,
+            Validator validator,
+            @Qualifier(NotificationConfig.NOTIFICATION_EXECUTOR) AsyncTaskExecutor executor,
+            @Qualifier(NotificationConfig.NOTIFICATION_PRIORITY_EXECUTOR) AsyncTaskExecutor priorityExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.notificationFanoutService = notificationFanoutService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.executor = executor;
+        this.priorityExecutor = priorityExecutor;
+        // Each claim, delivery and failure record commits on its own
+        this.outboxTransaction = new TransactionTemplate(transactionManager);
+        this.outboxTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.delivered = outcomeCounter(meterRegistry, "delivered");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.dead = outcomeCounter(meterRegistry, "dead");
+        for (NotificationOutbox.Lane lane : NotificationOutbox.Lane.values()) {
+            deliveryLatency.put(lane, Timer.builder("notification.outbox.delivery.latency")
+                    .description("Time from enqueue to delivery")
+                    .tag("lane", lane.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Queue a notification for specific users
+     */
+    @Transactional
+    public boolean enqueueForUsers(String idempotencyKey, Collection<Long> userIds, NotificationTemplate template) {
+        String audience = userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        if (audience.isEmpty()) {
+            return false;
+        }
+        return enqueue(idempotencyKey, NotificationOutbox.AudienceType.USERS, audience, template);
+    }
+
+    /**
+     * Queue a notification for every user holding one of the roles; members are resolved at delivery time
+     */
+    @Transactional
+    public boolean enqueueForRoles(String idempotencyKey, Collection<User.Role> roles, NotificationTemplate template) {
+        String audience = roles.stream().map(User.Role::name).distinct().collect(Collectors.joining(","));
+        return enqueue(idempotencyKey, NotificationOutbox.AudienceType.ROLES, audience, template);
+    }
+
+    /**
+     * Queue a notification for all users except super admins
+     */
+    @Transactional
+    public boolean enqueueForAllUsers(String idempotencyKey, NotificationTemplate template) {
+        return enqueue(idempotencyKey, NotificationOutbox.AudienceType.ALL_USERS, null, template);
+    }
+
+    /**
+     * Claim due standard-lane entries and deliver them across the configured number of workers
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = outboxTransaction.execute(status ->
+                outboxRepository.releaseStaleClaims(now.minusMinutes(staleClaimMinutes)));
+        if (released != null && released > 0) {
+            log.warn("Released {} stale outbox claims", released);
+        }
+        drainLane(NotificationOutbox.Lane.STANDARD, now, batchSize, concurrency, executor);
+    }
+
+    /**
+     * Claim due HIGH/URGENT entries; runs on its own schedule and executor
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.priority-poll-interval-ms:200}")
+    public void drainPriority() {
+        drainLane(NotificationOutbox.Lane.PRIORITY, LocalDateTime.now(), priorityBatchSize, priorityConcurrency,
+                priorityExecutor);
+    }
+
+    private void drainLane(NotificationOutbox.Lane lane, LocalDateTime now, int limit, int maxWorkers,
+            AsyncTaskExecutor laneExecutor) {
+        List<Long> claimed = outboxTransaction.execute(status ->
+                outboxRepository.findDueIds(lane, now, PageRequest.of(0, limit)).stream()
+                        .filter(id -> outboxRepository.claim(id, now) == 1)
+                        .collect(Collectors.toList()));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+
+        int workers = Math.max(1, Math.min(maxWorkers, claimed.size()));
+        List<List<Long>> slices = new ArrayList<>(workers);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            List<Long> slice = new ArrayList<>();
+            for (int i = worker; i < claimed.size(); i += workers) {
+                slice.add(claimed.get(i));
+            }
+            slices.add(slice);
+            futures.add(submit(slice, laneExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(drainTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            releaseUnfinished(lane, slices, futures);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            releaseUnfinished(lane, slices, futures);
+            return;
+        } catch (ExecutionException e) {
+            log.error("Outbox {} worker failed", lane, e.getCause());
+        }
+        log.debug("Outbox drained {} {} entries with {} workers", claimed.size(), lane, workers);
+    }
+
+    // Cancelling stops slices that have not started; a running slice skips entries that are no longer PROCESSING
+    private void releaseUnfinished(NotificationOutbox.Lane lane, List<List<Long>> slices,
+            List<CompletableFuture<Void>> futures) {
+        List<Long> unfinished = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            if (!futures.get(i).isDone()) {
+                futures.get(i).cancel(false);
+                unfinished.addAll(slices.get(i));
+            }
+        }
+        Integer released = outboxTransaction.execute(status -> outboxRepository.releaseClaims(unfinished));
+        log.warn("Outbox {} workers did not finish within {}s (task dropped by the executor?); released {} claims",
+                lane, drainTimeoutSeconds, released);
+    }
+
+    private boolean enqueue(String idempotencyKey, NotificationOutbox.AudienceType audienceType, String audience,
+            NotificationTemplate template) {
+        String key = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+        NotificationOutbox entry = new NotificationOutbox();
+        entry.setIdempotencyKey(key);
+        entry.setAudienceType(audienceType);
+        entry.setAudience(audience);
+        entry.setSenderId(template.getSenderId());
+        entry.setTitle(template.getTitle());
+        entry.setMessage(template.getMessage());
+        if (template.getType() != null) {
+            entry.setType(template.getType());
+        }
+        if (template.getPriority() != null) {
+            entry.setPriority(template.getPriority());
+        }
+        entry.setLane(NotificationOutbox.Lane.of(entry.getPriority()));
+        entry.setExpiresAt(template.getExpiresAt());
+        entry.setActionUrl(template.getActionUrl());
+        entry.setActionLabel(template.getActionLabel());
+        entry.setGroupKey(template.getGroupKey());
+        Set<ConstraintViolation<NotificationOutbox>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        // INSERT IGNORE instead of check-then-insert: a concurrent duplicate is skipped rather than
+        // failing on the unique key and rolling back the caller's transaction
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = jdbcTemplate.update(INSERT_IGNORE_SQL, key, audienceType.name(), audience, entry.getSenderId(),
+                entry.getTitle(), entry.getMessage(), entry.getType().name(), entry.getPriority().name(),
+                toTimestamp(entry.getExpiresAt()), entry.getActionUrl(), entry.getActionLabel(), entry.getGroupKey(),
+                entry.getLane().name(), NotificationOutbox.Status.PENDING.name(), Timestamp.valueOf(now),
+                Timestamp.valueOf(now));
+        if (inserted == 0) {
+            log.debug("Outbox entry {} already queued, skipping", key);
+            return false;
+        }
+        return true;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    private CompletableFuture<Void> submit(List<Long> slice, AsyncTaskExecutor laneExecutor) {
+        try {
+            return CompletableFuture.runAsync(() -> slice.forEach(this::deliver), laneExecutor);
+        } catch (RejectedExecutionException e) {
+            // Executor saturated: deliver on the poller thread rather than leaving entries claimed
+            slice.forEach(this::deliver);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void deliver(Long id) {
+        try {
+            NotificationOutbox deliveredEntry = outboxTransaction.execute(status -> {
+                NotificationOutbox entry = outboxRepository.findByIdForUpdate(id).orElse(null);
+                if (entry == null || entry.getStatus() != NotificationOutbox.Status.PROCESSING) {
+                    return null;
+                }
+                FanoutResult result = notificationFanoutService.fanout(resolveRecipients(entry), toTemplate(entry));
+                entry.setStatus(NotificationOutbox.Status.DELIVERED);
+                entry.setDeliveredCount(result.getRecipients());
+                entry.setProcessedAt(LocalDateTime.now());
+                entry.setLastError(null);
+                return entry;
+            });
+            if (deliveredEntry != null) {
+                delivered.increment();
+                deliveryLatency.get(deliveredEntry.getLane())
+                        .record(Duration.between(deliveredEntry.getCreatedAt(), deliveredEntry.getProcessedAt()));
+            }
+        } catch (Exception e) {
+            try {
+                outboxTransaction.executeWithoutResult(status -> recordFailure(id, e));
+            } catch (Exception recordError) {
+                log.error("Failed to record outbox failure for entry {}", id, recordError);
+            }
+        }
+    }
+
+    private void recordFailure(Long id, Exception cause) {
+        outboxRepository.findById(id).ifPresent(entry -> {
+            LocalDateTime now = LocalDateTime.now();
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(truncate(String.valueOf(cause.getMessage()), 1000));
+            entry.setClaimedAt(null);
+            if (attempts >= maxAttempts) {
+                entry.setStatus(NotificationOutbox.Status.DEAD);
+                entry.setProcessedAt(now);
+                dead.increment();
+                log.error("Outbox entry {} ({}) moved to DEAD after {} attempts",
+                        id, entry.getIdempotencyKey(), attempts, cause);
+            } else {
+                entry.setStatus(NotificationOutbox.Status.PENDING);
+                entry.setNextAttemptAt(now.plusNanos(backoffMillis(attempts) * 1_000_000L));
+                retried.increment();
+                log.warn("Outbox entry {} ({}) failed on attempt {}, retrying: {}",
+                        id, entry.getIdempotencyKey(), attempts, cause.getMessage());
+            }
+        });
+    }
+
+    private List<Long> resolveRecipients(NotificationOutbox entry) {
+        return switch (entry.getAudienceType()) {
+            case USERS -> existingUserIds(parseIds(entry.getAudience()));
+            case ROLES -> userRepository.findIdsByRoleIn(parseRoles(entry.getAudience()));
+            case ALL_USERS -> userRepository.findAllIdsExcludingSuperAdmin();
+        };
+    }
+
+    // Drop unknown ids up front so one deleted user cannot fail the whole entry
+    private List<Long> existingUserIds(List<Long> ids) {
+        List<Long> existing = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK) {
+            existing.addAll(userRepository.findExistingIds(ids.subList(from, Math.min(from + ID_LOOKUP_CHUNK, ids.size()))));
+        }
+        if (existing.size() < ids.size()) {
+            log.warn("Skipping {} unknown recipient ids in outbox delivery", ids.size() - existing.size());
+        }
+        return existing;
+    }
+
+    private NotificationTemplate toTemplate(NotificationOutbox entry) {
+        return NotificationTemplate.builder()
+                .senderId(entry.getSenderId())
+                .title(entry.getTitle())
+                .message(entry.getMessage())
+                .type(entry.getType())
+                .priority(entry.getPriority())
+                .expiresAt(entry.getExpiresAt())
+                .actionUrl(entry.getActionUrl())
+                .actionLabel(entry.getActionLabel())
+                .groupKey(entry.getGroupKey())
+                .build();
+    }
+
+    private long backoffMillis(int attempts) {
+        long delay = backoffInitialMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, backoffMaxMs);
+    }
+
+    private static List<Long> parseIds(String audience) {
+        if (audience == null || audience.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(audience.split(",")).map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    private static List<User.Role> parseRoles(String audience) {
+        if (audience == null || audience.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(audience.split(",")).map(User.Role::valueOf).collect(Collectors.toList());
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notification.outbox.processed")
+                .description("Outbox entries processed by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
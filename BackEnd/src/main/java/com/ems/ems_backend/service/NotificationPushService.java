@@ -0,0 +1,107 @@
+package com.ems.ems_backend.service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ems.ems_backend.dto.NotificationCounts;
+import com.ems.ems_backend.dto.NotificationPushEvent;
+import com.ems.ems_backend.event.NotificationCreatedEvent;
+import com.ems.ems_backend.model.Notification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes new-notification events to connected STOMP clients at /user/{id}/queue/notifications.
+ * Events are queued after commit and flushed on a short interval, so a burst for one user
+ * becomes a single message carrying the latest item and the current unread counters.
+ * Users without an open session are skipped; they still read through the REST endpoints.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPushService {
+
+    private static final String DESTINATION = "/queue/notifications";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final NotificationCounterService notificationCounterService;
+
+    // At most one pending push per user; new events merge into it
+    private final Map<Long, PendingPush> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        PendingPush push = PendingPush.of(event);
+        for (Long recipientId : event.getRecipientIds()) {
+            if (isConnected(recipientId)) {
+                pending.merge(recipientId, push, PendingPush::merge);
+            }
+        }
+    }
+
+    /**
+     * Send one coalesced message per user with pending events
+     */
+    @Scheduled(fixedDelayString = "${notification.push.flush-interval-ms:250}")
+    public void flush() {
+        Iterator<Map.Entry<Long, PendingPush>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, PendingPush> entry = iterator.next();
+            Long userId = entry.getKey();
+            PendingPush push = entry.getValue();
+            // Only drop the entry if no newer event was merged in meanwhile
+            if (!pending.remove(userId, push)) {
+                continue;
+            }
+            try {
+                send(userId, push);
+            } catch (Exception e) {
+                log.warn("Failed to push notifications to user {}", userId, e);
+            }
+        }
+    }
+
+    private void send(Long userId, PendingPush push) {
+        NotificationCounts counts = notificationCounterService.getCounts(userId);
+        NotificationPushEvent payload = NotificationPushEvent.builder()
+                .newCount(push.count())
+                .latestNotificationId(push.latestId())
+                .latestTitle(push.latestTitle())
+                .latestType(push.latestType())
+                .highestPriority(push.highestPriority())
+                .unreadCount(counts.getUnread())
+                .highPriorityUnreadCount(counts.getHighUnread())
+                .urgentPriorityUnreadCount(counts.getUrgentUnread())
+                .build();
+        messagingTemplate.convertAndSendToUser(String.valueOf(userId), DESTINATION, payload);
+    }
+
+    private boolean isConnected(Long userId) {
+        return userRegistry.getUser(String.valueOf(userId)) != null;
+    }
+
+    private record PendingPush(int count, Long latestId, String latestTitle,
+            Notification.NotificationType latestType, Notification.NotificationPriority highestPriority) {
+
+        static PendingPush of(NotificationCreatedEvent event) {
+            return new PendingPush(1, event.getNotificationId(), event.getTitle(), event.getType(), event.getPriority());
+        }
+
+        PendingPush merge(PendingPush newer) {
+            Notification.NotificationPriority priority = highestPriority == null
+                    || (newer.highestPriority != null && newer.highestPriority.compareTo(highestPriority) > 0)
+                    ? newer.highestPriority : highestPriority;
+            return new PendingPush(count + newer.count, newer.latestId, newer.latestTitle, newer.latestType, priority);
+        }
+    }
+}
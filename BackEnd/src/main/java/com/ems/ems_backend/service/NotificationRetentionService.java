@@ -0,0 +1,336 @@
+package com.ems.ems_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ems.ems_backend.dto.NotificationCounts;
+import com.ems.ems_backend.dto.RetentionResult;
+import com.ems.ems_backend.model.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes notifications in bounded primary-key ranges, each range in its own short transaction.
+ * The scan walks the primary key forward from the last deleted id, so every run is a single pass
+ * over the table no matter how many rows qualify. A run stops early at its max runtime and the
+ * next scheduled run picks up the rest. Rows can be copied to a compressed archive table or a
+ * gzipped NDJSON file before they are deleted.
+ */
+@Service
+@Slf4j
+public class NotificationRetentionService {
+
+    private static final String ARCHIVE_COLUMNS = """
+        n.id, n.recipient_id, n.sender_id, COALESCE(n.title, m.title) AS title,
+        COALESCE(n.message, m.message) AS message, n.type, n.priority, n.is_read, n.created_at,
+        n.read_at, n.expires_at, COALESCE(n.action_url, m.action_url) AS action_url,
+        COALESCE(n.action_label, m.action_label) AS action_label
+        """;
+
+    private static final String CREATE_ARCHIVE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS notifications_archive (
+            id BIGINT NOT NULL PRIMARY KEY,
+            recipient_id BIGINT NOT NULL,
+            sender_id BIGINT NULL,
+            title VARCHAR(255) NULL,
+            message VARCHAR(1000) NULL,
+            type VARCHAR(255) NOT NULL,
+            priority VARCHAR(255) NOT NULL,
+            is_read BIT NOT NULL,
+            created_at DATETIME(6) NOT NULL,
+            read_at DATETIME(6) NULL,
+            expires_at DATETIME(6) NULL,
+            action_url VARCHAR(255) NULL,
+            action_label VARCHAR(255) NULL,
+            archived_at DATETIME(6) NOT NULL
+        ) ROW_FORMAT=COMPRESSED
+        """;
+
+    private static final String DELETE_ORPHAN_MESSAGES_SQL = """
+        DELETE FROM notification_message WHERE id IN (
+            SELECT id FROM (
+                SELECT m.id FROM notification_message m
+                WHERE m.created_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM notifications n WHERE n.message_id = m.id)
+                ORDER BY m.id
+                LIMIT ?
+            ) orphan
+        )
+        """;
+
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationInboxCache notificationInboxCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${notification.retention.pause-ms:50}")
+    private long pauseMs;
+
+    @Value("${notification.retention.max-runtime-seconds:600}")
+    private long maxRuntimeSeconds;
+
+    @Value("${notification.retention.archive-mode:NONE}")
+    private ArchiveMode archiveMode;
+
+    @Value("${notification.retention.archive-dir:archive/notifications}")
+    private String archiveDir;
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate,
+            NotificationCounterService notificationCounterService,
+            NotificationInboxCache notificationInboxCache,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationCounterService = notificationCounterService;
+        this.notificationInboxCache = notificationInboxCache;
+        this.objectMapper = objectMapper;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Delete read notifications whose read time is before the cutoff
+     */
+    public RetentionResult purgeReadBefore(LocalDateTime cutoff) {
+        return purge(Policy.OLD_READ, cutoff);
+    }
+
+    /**
+     * Delete notifications that expired before the given time
+     */
+    public RetentionResult purgeExpiredBefore(LocalDateTime cutoff) {
+        return purge(Policy.EXPIRED, cutoff);
+    }
+
+    private RetentionResult purge(Policy policy, LocalDateTime cutoff) {
+        long start = System.nanoTime();
+        long deadline = start + maxRuntimeSeconds * 1_000_000_000L;
+        Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+        if (archiveMode == ArchiveMode.TABLE) {
+            jdbcTemplate.execute(CREATE_ARCHIVE_TABLE_SQL);
+        }
+
+        long cursor = 0;
+        long deleted = 0;
+        long archived = 0;
+        int chunks = 0;
+        boolean completed = true;
+        try (ArchiveFile file = archiveMode == ArchiveMode.FILE ? openArchiveFile(policy) : null) {
+            while (true) {
+                if (System.nanoTime() > deadline) {
+                    completed = false;
+                    break;
+                }
+                // Locate the next range without locking; the chunk transaction re-checks the predicate
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM notifications WHERE id > ? AND " + policy.predicate + " ORDER BY id LIMIT ?",
+                        Long.class, cursor, cutoffTs, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                long from = ids.get(0);
+                long to = ids.get(ids.size() - 1);
+                ChunkResult chunk = chunkTransaction.execute(status -> deleteRange(policy, cutoffTs, from, to, file));
+                deleted += chunk.deleted();
+                archived += chunk.archived();
+                chunks++;
+                cursor = to;
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                pause();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write notification archive file", e);
+        }
+
+        int orphans = deleteOrphanMessages(cutoff);
+        RetentionResult result = RetentionResult.of(policy.name(), deleted, archived, chunks,
+                System.nanoTime() - start, completed);
+        log.info("Retention {} deleted {} notifications ({} archived, {} orphaned messages) in {} chunks "
+                        + "({} ms, {} rows/sec){}",
+                policy, result.getDeleted(), result.getArchived(), orphans, result.getChunks(),
+                result.getElapsedMillis(), String.format("%.0f", result.getRowsPerSecond()),
+                completed ? "" : ", stopped at max runtime");
+        return result;
+    }
+
+    private ChunkResult deleteRange(Policy policy, Timestamp cutoff, long from, long to, ArchiveFile file) {
+        String range = " WHERE n.id BETWEEN ? AND ? AND " + policy.qualifiedPredicate;
+
+        // Lock the rows first so the counter deltas match exactly what gets deleted
+        List<RemovedRow> rows = jdbcTemplate.query(
+                "SELECT n.id, n.recipient_id, n.is_read, n.priority FROM notifications n" + range + " FOR UPDATE",
+                (rs, rowNum) -> new RemovedRow(rs.getLong(1), rs.getLong(2), rs.getBoolean(3),
+                        Notification.NotificationPriority.valueOf(rs.getString(4))),
+                from, to, cutoff);
+        if (rows.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+
+        int archived = 0;
+        String archiveFrom = " FROM notifications n LEFT JOIN notification_message m ON m.id = n.message_id" + range;
+        if (archiveMode == ArchiveMode.TABLE) {
+            archived = jdbcTemplate.update("""
+                    INSERT IGNORE INTO notifications_archive
+                        (id, recipient_id, sender_id, title, message, type, priority, is_read, created_at,
+                         read_at, expires_at, action_url, action_label, archived_at)
+                    SELECT """ + ARCHIVE_COLUMNS + ", NOW(6)" + archiveFrom,
+                    from, to, cutoff);
+        } else if (archiveMode == ArchiveMode.FILE) {
+            archived = file.write(jdbcTemplate.query("SELECT " + ARCHIVE_COLUMNS + archiveFrom,
+                    NotificationRetentionService::toArchiveRow, from, to, cutoff));
+        }
+
+        int deleted = jdbcTemplate.update("DELETE FROM notifications WHERE id BETWEEN ? AND ? AND " + policy.predicate,
+                from, to, cutoff);
+        notificationCounterService.onRemoved(countByRecipient(rows));
+        notificationInboxCache.onDeleted(rows.stream().collect(Collectors.groupingBy(RemovedRow::recipientId,
+                Collectors.mapping(RemovedRow::id, Collectors.toList()))));
+        return new ChunkResult(deleted, archived);
+    }
+
+    // Shared message bodies whose last recipient row is gone
+    private int deleteOrphanMessages(LocalDateTime before) {
+        Timestamp beforeTs = Timestamp.valueOf(before);
+        int total = 0;
+        int removed;
+        do {
+            removed = chunkTransaction.execute(status ->
+                    jdbcTemplate.update(DELETE_ORPHAN_MESSAGES_SQL, beforeTs, chunkSize));
+            total += removed;
+        } while (removed >= chunkSize);
+        return total;
+    }
+
+    private List<NotificationCounts> countByRecipient(List<RemovedRow> rows) {
+        Map<Long, NotificationCounts> counts = new LinkedHashMap<>();
+        for (RemovedRow row : rows) {
+            NotificationCounts c = counts.computeIfAbsent(row.recipientId(), NotificationCounts::empty);
+            c.setTotal(c.getTotal() + 1);
+            if (!row.read()) {
+                c.setUnread(c.getUnread() + 1);
+                if (row.priority() == Notification.NotificationPriority.HIGH) {
+                    c.setHighUnread(c.getHighUnread() + 1);
+                } else if (row.priority() == Notification.NotificationPriority.URGENT) {
+                    c.setUrgentUnread(c.getUrgentUnread() + 1);
+                }
+            }
+        }
+        return new ArrayList<>(counts.values());
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ArchiveFile openArchiveFile(Policy policy) throws IOException {
+        Path dir = Paths.get(archiveDir);
+        Files.createDirectories(dir);
+        Path path = dir.resolve("notifications-" + policy.name().toLowerCase() + "-"
+                + LocalDateTime.now().format(FILE_STAMP) + ".ndjson.gz");
+        return new ArchiveFile(path, new GZIPOutputStream(Files.newOutputStream(path), true));
+    }
+
+    private static Map<String, Object> toArchiveRow(ResultSet rs, int rowNum) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            Object value = rs.getObject(i);
+            row.put(meta.getColumnLabel(i), value instanceof Timestamp ts ? ts.toLocalDateTime().toString() : value);
+        }
+        return row;
+    }
+
+    public enum ArchiveMode {
+        NONE,
+        TABLE,
+        FILE
+    }
+
+    private enum Policy {
+        OLD_READ("is_read = true AND read_at < ?", "n.is_read = true AND n.read_at < ?"),
+        EXPIRED("expires_at IS NOT NULL AND expires_at < ?", "n.expires_at IS NOT NULL AND n.expires_at < ?");
+
+        private final String predicate;
+        private final String qualifiedPredicate;
+
+        Policy(String predicate, String qualifiedPredicate) {
+            this.predicate = predicate;
+            this.qualifiedPredicate = qualifiedPredicate;
+        }
+    }
+
+    private record RemovedRow(long id, long recipientId, boolean read, Notification.NotificationPriority priority) {
+    }
+
+    private record ChunkResult(long deleted, long archived) {
+    }
+
+    // Gzipped NDJSON written and flushed chunk by chunk, before each chunk's delete commits
+    private final class ArchiveFile implements AutoCloseable {
+
+        private final Path path;
+        private final OutputStream out;
+
+        private ArchiveFile(Path path, OutputStream out) {
+            this.path = path;
+            this.out = out;
+        }
+
+        int write(List<Map<String, Object>> rows) {
+            try {
+                for (Map<String, Object> row : rows) {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                out.flush();
+                return rows.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + path, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
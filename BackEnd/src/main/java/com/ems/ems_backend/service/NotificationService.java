@@ -2,25 +2,36 @@ package com.ems.ems_backend.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ems.ems_backend.dto.CursorPage;
+import com.ems.ems_backend.dto.NotificationBulkRequest;
+import com.ems.ems_backend.dto.NotificationBulkResult;
+import com.ems.ems_backend.dto.NotificationCounts;
 import com.ems.ems_backend.dto.NotificationCreateRequest;
 import com.ems.ems_backend.dto.NotificationResponse;
 import com.ems.ems_backend.dto.NotificationSummary;
+import com.ems.ems_backend.dto.NotificationTemplate;
+import com.ems.ems_backend.event.NotificationCreatedEvent;
 import com.ems.ems_backend.exception.NotFoundException;
 import com.ems.ems_backend.model.Notification;
 import com.ems.ems_backend.model.User;
 import com.ems.ems_backend.repository.NotificationRepository;
 import com.ems.ems_backend.repository.UserRepository;
+import com.ems.ems_backend.utils.KeysetCursor;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,12 +40,35 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional
 public class NotificationService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    @Value("${notification.bulk.max-ids:500}")
+    private int maxBulkIds;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private NotificationCounterService notificationCounterService;
+
+    @Autowired
+    private NotificationInboxCache notificationInboxCache;
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
+    @Autowired
+    private NotificationCoalescingService notificationCoalescingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a new notification
      */
@@ -48,6 +82,15 @@ public class NotificationService {
                     .orElseThrow(() -> new NotFoundException("Sender not found with id: " + request.getSenderId()));
         }
 
+        // Digest types merge into the recipient's open digest instead of adding a row
+        String groupKey = notificationCoalescingService.groupKeyFor(request.getType(), request.getGroupKey());
+        if (groupKey != null) {
+            NotificationResponse merged = mergeIntoDigest(recipient.getId(), groupKey, request);
+            if (merged != null) {
+                return merged;
+            }
+        }
+
         Notification notification = new Notification();
         notification.setRecipient(recipient);
         notification.setSender(sender);
@@ -58,32 +101,25 @@ public class NotificationService {
         notification.setExpiresAt(request.getExpiresAt());
         notification.setActionUrl(request.getActionUrl());
         notification.setActionLabel(request.getActionLabel());
+        notification.setGroupKey(groupKey);
 
         Notification savedNotification = notificationRepository.save(notification);
+        notificationCounterService.onCreated(recipient.getId(), savedNotification.getPriority());
+        eventPublisher.publishEvent(NotificationCreatedEvent.single(savedNotification));
         log.info("Created notification with id: {} for user: {}", savedNotification.getId(), recipient.getUsername());
 
-        return NotificationResponse.fromNotification(savedNotification);
+        NotificationResponse response = NotificationResponse.fromNotification(savedNotification);
+        notificationInboxCache.onCreated(recipient.getId(), response);
+        return response;
     }
 
     /**
-     * Send notification to multiple users
+     * Send notification to multiple users; queued in the outbox and delivered in the background
      */
-    @Async
     public void sendBulkNotifications(List<Long> recipientIds, String title, String message,
             Notification.NotificationType type, Notification.NotificationPriority priority) {
-        recipientIds.forEach(recipientId -> {
-            try {
-                NotificationCreateRequest request = new NotificationCreateRequest();
-                request.setRecipientId(recipientId);
-                request.setTitle(title);
-                request.setMessage(message);
-                request.setType(type);
-                request.setPriority(priority);
-                createNotification(request);
-            } catch (Exception e) {
-                log.error("Failed to send notification to user id: {}", recipientId, e);
-            }
-        });
+        notificationOutboxService.enqueueForUsers(null, recipientIds,
+                NotificationTemplate.system(title, message, type, priority));
     }
 
     /**
@@ -91,11 +127,39 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public Page<NotificationResponse> getUserNotifications(Long userId, int page, int size) {
-        User user = getUserById(userId);
-        Pageable pageable = PageRequest.of(page, size);
+        if (page == 0) {
+            NotificationInboxCache.Inbox inbox = cachedInbox(userId);
+            List<NotificationResponse> content = inbox != null ? inbox.first(size) : null;
+            if (content != null) {
+                long total = inbox.complete() ? inbox.head().size() : notificationCounterService.getCounts(userId).getTotal();
+                return new PageImpl<>(content, PageRequest.of(0, size), total);
+            }
+        }
+        ensureUserExists(userId);
+        return notificationRepository.findInboxView(userId, PageRequest.of(page, size));
+    }
+
+    /**
+     * Get notifications for a user using keyset paging; pass the previous page's nextCursor to continue
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getUserNotifications(Long userId, String cursor, int size) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = cursorPageSize(size);
+        if (position == null) {
+            NotificationInboxCache.Inbox inbox = cachedInbox(userId);
+            List<NotificationResponse> rows = inbox != null ? inbox.first(pageSize + 1) : null;
+            if (rows != null) {
+                return CursorPage.of(rows, pageSize, Function.identity(), NotificationService::cursorOf);
+            }
+        }
+        ensureUserExists(userId);
 
-        return notificationRepository.findByRecipientOrderByCreatedAtDesc(user, pageable)
-                .map(NotificationResponse::fromNotification);
+        List<NotificationResponse> rows = notificationRepository.findInboxViewAfter(userId,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Function.identity(), NotificationService::cursorOf);
     }
 
     /**
@@ -103,12 +167,16 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public List<NotificationResponse> getUnreadNotifications(Long userId) {
-        User user = getUserById(userId);
-
-        return notificationRepository.findByRecipientAndIsReadFalseOrderByCreatedAtDesc(user)
-                .stream()
-                .map(NotificationResponse::fromNotification)
-                .collect(Collectors.toList());
+        NotificationInboxCache.Inbox inbox = cachedInbox(userId);
+        if (inbox != null) {
+            // The head holds every unread notification when its unread rows match the counter
+            List<NotificationResponse> unread = inbox.unread();
+            if (inbox.complete() || unread.size() == notificationCounterService.getCounts(userId).getUnread()) {
+                return unread;
+            }
+        }
+        ensureUserExists(userId);
+        return notificationRepository.findUnreadView(userId);
     }
 
     /**
@@ -116,34 +184,21 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public NotificationSummary getNotificationSummary(Long userId) {
-        User user = getUserById(userId);
-
-        long totalNotifications = notificationRepository.findByRecipientOrderByCreatedAtDesc(user).size();
-        long unreadCount = notificationRepository.countByRecipientAndIsReadFalse(user);
-
-        List<Notification.NotificationPriority> highPriorities = List.of(Notification.NotificationPriority.HIGH);
-        List<Notification.NotificationPriority> urgentPriorities = List.of(Notification.NotificationPriority.URGENT);
-
-        long highPriorityUnreadCount = notificationRepository
-                .findByRecipientAndIsReadFalseAndPriorityInOrderByCreatedAtDesc(user, highPriorities).size();
-
-        long urgentPriorityUnreadCount = notificationRepository
-                .findByRecipientAndIsReadFalseAndPriorityInOrderByCreatedAtDesc(user, urgentPriorities).size();
+        NotificationInboxCache.Inbox inbox = cachedInbox(userId);
+        NotificationCounts counts = notificationCounterService.getCounts(userId);
 
         // Get recent notifications (last 5)
         LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        List<NotificationResponse> recentNotifications = notificationRepository
-                .findRecentNotifications(user, sevenDaysAgo)
-                .stream()
-                .limit(5)
-                .map(NotificationResponse::fromNotification)
-                .collect(Collectors.toList());
+        List<NotificationResponse> latest = inbox != null ? inbox.first(5) : null;
+        List<NotificationResponse> recentNotifications = latest != null
+                ? latest.stream().filter(n -> !n.getCreatedAt().isBefore(sevenDaysAgo)).collect(Collectors.toList())
+                : notificationRepository.findRecentView(userId, sevenDaysAgo, PageRequest.of(0, 5));
 
         return NotificationSummary.create(
-                totalNotifications,
-                unreadCount,
-                highPriorityUnreadCount,
-                urgentPriorityUnreadCount,
+                counts.getTotal(),
+                counts.getUnread(),
+                counts.getHighUnread(),
+                counts.getUrgentUnread(),
                 recentNotifications
         );
     }
@@ -162,6 +217,8 @@ public class NotificationService {
         if (!notification.getIsRead()) {
             notification.markAsRead();
             notificationRepository.save(notification);
+            notificationCounterService.onRead(userId, notification.getPriority());
+            notificationInboxCache.onRead(userId, List.of(notificationId), notification.getReadAt());
             log.info("Marked notification {} as read for user {}", notificationId, userId);
         }
     }
@@ -171,7 +228,10 @@ public class NotificationService {
      */
     public void markAllAsRead(Long userId) {
         User user = getUserById(userId);
-        int updatedCount = notificationRepository.markAllAsReadForUser(user, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        int updatedCount = notificationRepository.markAllAsReadForUser(user, now);
+        notificationCounterService.onAllRead(userId);
+        notificationInboxCache.onAllRead(userId, now);
         log.info("Marked {} notifications as read for user {}", updatedCount, userId);
     }
 
@@ -187,9 +247,60 @@ public class NotificationService {
         }
 
         notificationRepository.delete(notification);
+        notificationCounterService.onDeleted(userId, notification.getPriority(), !notification.getIsRead());
+        notificationInboxCache.onDeleted(userId, List.of(notificationId));
         log.info("Deleted notification {} for user {}", notificationId, userId);
     }
 
+    /**
+     * Mark many notifications as read with one UPDATE; only the user's own notifications match
+     */
+    public NotificationBulkResult markAsRead(Long userId, NotificationBulkRequest request) {
+        ensureUserExists(userId);
+        LocalDateTime now = LocalDateTime.now();
+        int updated;
+        if (request.hasIds()) {
+            List<Long> ids = validatedIds(request);
+            updated = notificationRepository.markAsReadByIds(userId, ids, now);
+            notificationInboxCache.onRead(userId, ids, now);
+        } else if (request.hasReadFilter()) {
+            updated = notificationRepository.markAsReadByFilter(userId, request.getType(), request.getPriority(),
+                    request.getCreatedBefore(), now);
+            notificationInboxCache.invalidate(List.of(userId));
+        } else {
+            throw new IllegalArgumentException("Provide notification ids or at least one of type, priority, createdBefore");
+        }
+        if (updated > 0) {
+            notificationCounterService.invalidate(userId);
+        }
+        log.info("Bulk marked {} notifications as read for user {}", updated, userId);
+        return new NotificationBulkResult("read", updated);
+    }
+
+    /**
+     * Delete many notifications with one DELETE; only the user's own notifications match
+     */
+    public NotificationBulkResult deleteNotifications(Long userId, NotificationBulkRequest request) {
+        ensureUserExists(userId);
+        int deleted;
+        if (request.hasIds()) {
+            List<Long> ids = validatedIds(request);
+            deleted = notificationRepository.deleteByIds(userId, ids);
+            notificationInboxCache.onDeleted(userId, ids);
+        } else if (request.hasFilter()) {
+            deleted = notificationRepository.deleteByFilter(userId, request.getIsRead(), request.getType(),
+                    request.getPriority(), request.getCreatedBefore());
+            notificationInboxCache.invalidate(List.of(userId));
+        } else {
+            throw new IllegalArgumentException("Provide notification ids or at least one filter");
+        }
+        if (deleted > 0) {
+            notificationCounterService.invalidate(userId);
+        }
+        log.info("Bulk deleted {} notifications for user {}", deleted, userId);
+        return new NotificationBulkResult("delete", deleted);
+    }
+
     /**
      * Get notifications with filters
      */
@@ -198,12 +309,28 @@ public class NotificationService {
             Long userId, Boolean isRead, Notification.NotificationType type,
             Notification.NotificationPriority priority, int page, int size) {
 
-        User user = getUserById(userId);
-        Pageable pageable = PageRequest.of(page, size);
+        ensureUserExists(userId);
+        return notificationRepository.findFilteredView(
+                userId, isRead, type, priority, LocalDateTime.now(), PageRequest.of(page, size));
+    }
 
-        return notificationRepository.findNotificationsWithFilters(
-                user, isRead, type, priority, LocalDateTime.now(), pageable)
-                .map(NotificationResponse::fromNotification);
+    /**
+     * Get notifications with filters using keyset paging
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> getFilteredNotifications(
+            Long userId, Boolean isRead, Notification.NotificationType type,
+            Notification.NotificationPriority priority, String cursor, int size) {
+        ensureUserExists(userId);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = cursorPageSize(size);
+
+        List<NotificationResponse> rows = notificationRepository.findFilteredViewAfter(userId, isRead, type, priority,
+                LocalDateTime.now(),
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, Function.identity(), NotificationService::cursorOf);
     }
 
     /**
@@ -224,39 +351,96 @@ public class NotificationService {
     /**
      * Send notification to all users with specific roles
      */
-    @Async
     public void sendNotificationToRole(User.Role role, String title, String message,
             Notification.NotificationType type, Notification.NotificationPriority priority) {
-        List<User> usersWithRole = userRepository.findByRole(role);
-        List<Long> userIds = usersWithRole.stream()
-                .map(User::getId)
-                .collect(Collectors.toList());
-
-        sendBulkNotifications(userIds, title, message, type, priority);
+        notificationOutboxService.enqueueForRoles(null, List.of(role),
+                NotificationTemplate.system(title, message, type, priority));
     }
 
     /**
      * Scheduled task to clean up old read notifications (runs daily at 2 AM)
      */
     @Scheduled(cron = "0 0 2 * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each retention chunk commits on its own
     public void cleanupOldNotifications() {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30); // Delete notifications older than 30 days
-        int deletedCount = notificationRepository.deleteOldReadNotifications(cutoffDate);
-        log.info("Cleaned up {} old read notifications", deletedCount);
+        notificationRetentionService.purgeReadBefore(cutoffDate);
     }
 
     /**
      * Scheduled task to clean up expired notifications (runs every hour)
      */
     @Scheduled(cron = "0 0 * * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void cleanupExpiredNotifications() {
-        int deletedCount = notificationRepository.deleteExpiredNotifications(LocalDateTime.now());
-        if (deletedCount > 0) {
-            log.info("Cleaned up {} expired notifications", deletedCount);
-        }
+        notificationRetentionService.purgeExpiredBefore(LocalDateTime.now());
     }
 
     // Helper methods
+    private NotificationResponse mergeIntoDigest(Long recipientId, String groupKey, NotificationCreateRequest request) {
+        NotificationTemplate template = NotificationTemplate.builder()
+                .senderId(request.getSenderId())
+                .title(request.getTitle())
+                .message(request.getMessage())
+                .type(request.getType())
+                .priority(request.getPriority())
+                .expiresAt(request.getExpiresAt())
+                .actionUrl(request.getActionUrl())
+                .actionLabel(request.getActionLabel())
+                .build();
+        if (notificationCoalescingService.merge(List.of(recipientId), groupKey, template, null, LocalDateTime.now())
+                .isEmpty()) {
+            return null;
+        }
+        Notification digest = notificationRepository
+                .findTopByRecipientIdAndGroupKeyAndIsReadFalseOrderByCreatedAtDescIdDesc(recipientId, groupKey)
+                .orElseThrow(() -> new NotFoundException("Digest notification not found for user: " + recipientId));
+        eventPublisher.publishEvent(NotificationCreatedEvent.single(digest));
+        log.info("Merged notification into digest {} for user: {} (count {})",
+                digest.getId(), recipientId, digest.getGroupCount());
+        NotificationResponse response = NotificationResponse.fromNotification(digest);
+        notificationInboxCache.onMerged(recipientId, response);
+        return response;
+    }
+
+    // Head of the user's inbox from the cache, loaded on a miss; null when the cache is disabled
+    private NotificationInboxCache.Inbox cachedInbox(Long userId) {
+        if (!notificationInboxCache.isEnabled()) {
+            return null;
+        }
+        NotificationInboxCache.Inbox inbox = notificationInboxCache.get(userId);
+        if (inbox != null) {
+            return inbox;
+        }
+        long stamp = notificationInboxCache.stamp(userId);
+        ensureUserExists(userId);
+        List<NotificationResponse> rows = notificationRepository.findInboxViewAfter(userId, null, null,
+                PageRequest.of(0, notificationInboxCache.headSize() + 1));
+        return notificationInboxCache.put(userId, stamp, rows);
+    }
+
+    private List<Long> validatedIds(NotificationBulkRequest request) {
+        List<Long> ids = request.getIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.size() > maxBulkIds) {
+            throw new IllegalArgumentException("At most " + maxBulkIds + " notification ids per request");
+        }
+        return ids;
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    private static int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private static String cursorOf(NotificationResponse notification) {
+        return new KeysetCursor(notification.getCreatedAt(), notification.getId()).encode();
+    }
+
     private User getUserById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found with id: " + userId));
@@ -272,13 +456,13 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public NotificationResponse getNotification(Long notificationId, Long userId) {
-        Notification notification = getNotificationById(notificationId);
-
-        // Verify the notification belongs to the user
-        if (!notification.getRecipient().getId().equals(userId)) {
-            throw new SecurityException("User can only access their own notifications");
-        }
-
-        return NotificationResponse.fromNotification(notification);
+        return notificationRepository.findViewByIdAndRecipientId(notificationId, userId)
+                .orElseThrow(() -> {
+                    // Verify the notification belongs to the user
+                    if (notificationRepository.existsById(notificationId)) {
+                        return new SecurityException("User can only access their own notifications");
+                    }
+                    return new NotFoundException("Notification not found with id: " + notificationId);
+                });
     }
 }
@@ -104,7 +104,7 @@ public class OwnerFilterService {
      * Get employees by department excluding owner
      */
     public List<Employee> getEmployeesByDepartmentExcludingOwner(String department) {
-        return employeeRepository.findByDepartment(department).stream()
+        return employeeRepository.findByDepartmentNameAll(department).stream()
                 .filter(employee -> !isOwnerEmployee(employee))
                 .collect(Collectors.toList());
     }
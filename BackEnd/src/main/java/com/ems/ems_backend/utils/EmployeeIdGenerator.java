@@ -3,6 +3,11 @@ package com.ems.ems_backend.utils;
 
 import java.security.SecureRandom;
 
+/**
+ * @deprecated random IDs are not checked for collisions; use
+ * {@link com.ems.ems_backend.service.EmployeeIdAllocator}, which numbers IDs from a sequence
+ */
+@Deprecated
 public class EmployeeIdGenerator {
     private static final String ALPHANUM = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
     private static final SecureRandom rnd = new SecureRandom();
@@ -0,0 +1,55 @@
+package com.ems.ems_backend.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Case- and accent-insensitive forms of names, shared by the employee search and suggest indexes
+ * so a query like "jose" finds "José" in both.
+ */
+public final class TextFolding {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private TextFolding() {
+    }
+
+    /**
+     * Lower-cased with accents stripped; null becomes the empty string
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Folded alphanumeric runs, e.g. "O'Brien-Smith" gives [o, brien, smith]
+     */
+    public static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_ALNUM.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Folded, trimmed, with runs of whitespace collapsed to one space
+     */
+    public static String foldPhrase(String text) {
+        return SPACES.matcher(fold(text).trim()).replaceAll(" ");
+    }
+}
@@ -0,0 +1,12 @@
+-- ID Sequences Migration
+-- Hi/lo sequences for generated business identifiers (one row per name, e.g. "employee_id:EMPENG").
+-- Application instances reserve blocks by advancing next_value under a row lock and hand out
+-- numbers from the block in memory; numbers of a block not used before shutdown are skipped.
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    name VARCHAR(64) NOT NULL,
+    next_value BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,6 @@
+-- Employee Department/Status Index Migration
+-- Department lookups and counts now filter on department_id alone (optionally with status)
+-- instead of OR-ing the legacy name column with a join. Rows that only carry the legacy name
+-- are linked by DepartmentBackfillService at startup or via POST /api/departments/backfill.
+
+CREATE INDEX idx_employees_department_status ON employees (department_id, status);
@@ -0,0 +1,21 @@
+-- Shared Notification Message Migration
+-- Broadcast bodies are stored once in notification_message; each recipient keeps a thin
+-- row in notifications holding read state and a reference to the shared message
+
+CREATE TABLE IF NOT EXISTS notification_message (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(200) NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    action_url VARCHAR(100),
+    action_label VARCHAR(50),
+    created_at DATETIME(6) NOT NULL,
+
+    PRIMARY KEY (id)
+);
+
+-- Recipient rows that reference a shared message carry no body of their own
+ALTER TABLE notifications
+    MODIFY title VARCHAR(200) NULL,
+    MODIFY message VARCHAR(1000) NULL,
+    ADD COLUMN message_id BIGINT NULL,
+    ADD CONSTRAINT fk_notifications_message FOREIGN KEY (message_id) REFERENCES notification_message (id);
@@ -0,0 +1,14 @@
+-- Notification Counters Migration
+-- One row per user holding the counts served by /api/notifications/summary.
+-- Rows are created lazily from an aggregate over notifications and then updated incrementally.
+
+CREATE TABLE IF NOT EXISTS notification_counters (
+    user_id BIGINT NOT NULL,
+    total_count BIGINT NOT NULL DEFAULT 0,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    high_unread_count BIGINT NOT NULL DEFAULT 0,
+    urgent_unread_count BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME(6) NOT NULL,
+
+    PRIMARY KEY (user_id)
+);
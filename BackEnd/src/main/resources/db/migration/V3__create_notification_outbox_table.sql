@@ -0,0 +1,29 @@
+-- Notification Outbox Migration
+-- Notifications are written here in the same transaction as the change that caused them
+-- and drained by NotificationOutboxService with retry/backoff. DEAD rows need manual attention.
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    idempotency_key VARCHAR(150) NOT NULL,
+    audience_type VARCHAR(20) NOT NULL,
+    audience MEDIUMTEXT NULL,
+    sender_id BIGINT NULL,
+    title VARCHAR(255) NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    expires_at DATETIME(6) NULL,
+    action_url VARCHAR(255) NULL,
+    action_label VARCHAR(255) NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claimed_at DATETIME(6) NULL,
+    last_error VARCHAR(1000) NULL,
+    delivered_count INT NULL,
+    created_at DATETIME(6) NOT NULL,
+    processed_at DATETIME(6) NULL,
+
+    CONSTRAINT uk_outbox_idempotency_key UNIQUE (idempotency_key),
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at)
+);
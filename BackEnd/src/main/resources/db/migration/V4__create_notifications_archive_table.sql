@@ -0,0 +1,21 @@
+-- Notifications Archive Migration
+-- Cold storage for notifications removed by the retention jobs when
+-- notification.retention.archive-mode=TABLE. Shared message bodies are copied inline.
+-- NotificationRetentionService also creates this table on first use.
+
+CREATE TABLE IF NOT EXISTS notifications_archive (
+    id BIGINT NOT NULL PRIMARY KEY,
+    recipient_id BIGINT NOT NULL,
+    sender_id BIGINT NULL,
+    title VARCHAR(255) NULL,
+    message VARCHAR(1000) NULL,
+    type VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    is_read BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    read_at DATETIME(6) NULL,
+    expires_at DATETIME(6) NULL,
+    action_url VARCHAR(255) NULL,
+    action_label VARCHAR(255) NULL,
+    archived_at DATETIME(6) NOT NULL
+) ROW_FORMAT=COMPRESSED;
@@ -0,0 +1,32 @@
+-- Notification Indexes Migration
+-- Composite indexes for every NotificationRepository query and the retention jobs.
+-- InnoDB appends the primary key to each secondary index, so (recipient_id, created_at)
+-- also serves keyset paging on (created_at, id).
+
+-- Inbox listing, keyset paging, summary top-5 and date-range queries
+CREATE INDEX idx_notifications_recipient_created
+    ON notifications (recipient_id, created_at);
+
+-- Unread listing, unread count and mark-all-as-read
+CREATE INDEX idx_notifications_recipient_read_created
+    ON notifications (recipient_id, is_read, created_at);
+
+-- Counter rebuild aggregate and unread-by-priority lookups; covers both without touching rows
+CREATE INDEX idx_notifications_recipient_read_priority
+    ON notifications (recipient_id, is_read, priority);
+
+-- Inbox filtered by type or priority
+CREATE INDEX idx_notifications_recipient_type_created
+    ON notifications (recipient_id, type, created_at);
+CREATE INDEX idx_notifications_recipient_priority_created
+    ON notifications (recipient_id, priority, created_at);
+
+-- Sent items and system notifications (sender_id IS NULL)
+CREATE INDEX idx_notifications_sender_created
+    ON notifications (sender_id, created_at);
+
+-- Retention: expired notifications and old read notifications
+CREATE INDEX idx_notifications_expires_at
+    ON notifications (expires_at);
+CREATE INDEX idx_notifications_read_read_at
+    ON notifications (is_read, read_at);
@@ -0,0 +1,12 @@
+-- Employee Month-Day Columns Migration
+-- Stored generated columns (month * 100 + day) so the daily birthday and work-anniversary
+-- job finds today's employees with an index lookup instead of scanning every employee.
+
+ALTER TABLE employees
+    ADD COLUMN birth_month_day SMALLINT
+        GENERATED ALWAYS AS (MONTH(birth_date) * 100 + DAYOFMONTH(birth_date)) STORED,
+    ADD COLUMN hire_month_day SMALLINT
+        GENERATED ALWAYS AS (MONTH(hire_date) * 100 + DAYOFMONTH(hire_date)) STORED;
+
+CREATE INDEX idx_employees_birth_month_day ON employees (birth_month_day);
+CREATE INDEX idx_employees_hire_month_day ON employees (hire_month_day);
@@ -0,0 +1,13 @@
+-- Notification Digest Migration
+-- Events sharing a group key merge into the recipient's open (unread) digest row, whose
+-- group_count records how many events it holds.
+
+ALTER TABLE notifications
+    ADD COLUMN group_key VARCHAR(150) NULL,
+    ADD COLUMN group_count INT NOT NULL DEFAULT 1;
+
+CREATE INDEX idx_notifications_recipient_group
+    ON notifications (recipient_id, group_key, is_read, created_at);
+
+ALTER TABLE notification_outbox
+    ADD COLUMN group_key VARCHAR(150) NULL;
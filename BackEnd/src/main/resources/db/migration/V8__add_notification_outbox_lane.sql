@@ -0,0 +1,11 @@
+-- Notification Outbox Lanes
+-- HIGH and URGENT entries are drained by a separate poller and executor (the PRIORITY lane),
+-- so they are not delayed by large broadcasts waiting in the STANDARD lane.
+
+ALTER TABLE notification_outbox
+    ADD COLUMN lane VARCHAR(10) NOT NULL DEFAULT 'STANDARD';
+
+UPDATE notification_outbox SET lane = 'PRIORITY' WHERE priority IN ('HIGH', 'URGENT');
+
+CREATE INDEX idx_outbox_status_lane_next_attempt
+    ON notification_outbox (status, lane, next_attempt_at);
@@ -0,0 +1,5 @@
+-- Employee Updated-At Index Migration
+-- The employee search index re-reads rows changed since its previous pass
+-- (WHERE updated_at > ?), which needs an index to avoid scanning the table every minute.
+
+CREATE INDEX idx_employees_updated_at ON employees (updated_at);
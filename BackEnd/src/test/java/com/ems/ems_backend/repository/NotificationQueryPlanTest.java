@@ -0,0 +1,346 @@
+package com.ems.ems_backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ems.ems_backend.dto.CursorPage;
+import com.ems.ems_backend.dto.NotificationBulkRequest;
+import com.ems.ems_backend.dto.NotificationResponse;
+import com.ems.ems_backend.model.Notification;
+import com.ems.ems_backend.model.User;
+import com.ems.ems_backend.service.NotificationRetentionService;
+import com.ems.ems_backend.service.NotificationService;
+
+/**
+ * Runs the notification read, write and retention paths against a seeded dataset in the test
+ * schema, records the SQL they actually issue and fails if EXPLAIN shows any of it reading the
+ * notifications table with a full scan. Hibernate's statements are taken from its statement
+ * inspector, so projection joins are checked as generated; JdbcTemplate statements (retention
+ * scans, counter upserts) are taken where they are prepared.
+ */
+@SpringBootTest(properties = "notification.inbox-cache.enabled=false")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationQueryPlanTest {
+
+    private static final String USER_PREFIX = "plan-test-";
+    private static final int USERS = 50;
+    private static final int NOTIFICATIONS_PER_USER = 40;
+
+    // An identifier or a placeholder; SQL keywords between a column and its placeholders are skipped
+    private static final Pattern TOKEN = Pattern.compile("\\?|[A-Za-z_][A-Za-z_0-9]*");
+    private static final Set<String> SKIPPED = Set.of("and", "or", "not", "in", "between", "is", "null", "like");
+    private static final Pattern NOTIFICATIONS_ALIAS = Pattern.compile(
+            "\\bnotifications\\s+(?:as\\s+)?([a-z_][a-z_0-9]*)", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    /**
+     * Collects distinct SQL while recording is switched on
+     */
+    static class StatementRecorder implements StatementInspector {
+
+        private final Set<String> statements = Collections.synchronizedSet(new LinkedHashSet<>());
+        private volatile boolean recording;
+
+        @Override
+        public String inspect(String sql) {
+            record(sql);
+            return sql;
+        }
+
+        void record(String sql) {
+            if (recording) {
+                statements.add(sql);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(StatementRecorder statementRecorder) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementRecorder);
+        }
+
+        // Wraps the one DataSource everything shares, so JdbcTemplate still joins JPA transactions
+        @Bean
+        static BeanPostProcessor recordingDataSource(@Lazy StatementRecorder statementRecorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recording(dataSource, statementRecorder) : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        cleanup();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < USERS; i++) {
+            jdbcTemplate.update("""
+                INSERT INTO users (username, email, password, role, account_non_expired, account_non_locked,
+                    credentials_non_expired, enabled, created_at, updated_at)
+                VALUES (?, ?, 'x', 'EMPLOYEE', true, true, true, true, ?, ?)
+                """, USER_PREFIX + i, USER_PREFIX + i + "@example.com", Timestamp.valueOf(now), Timestamp.valueOf(now));
+        }
+        userIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username LIKE ? ORDER BY id", Long.class, USER_PREFIX + "%"));
+
+        Random random = new Random(42);
+        Notification.NotificationType[] types = Notification.NotificationType.values();
+        Notification.NotificationPriority[] priorities = Notification.NotificationPriority.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (Long recipientId : userIds) {
+            for (int n = 0; n < NOTIFICATIONS_PER_USER; n++) {
+                LocalDateTime createdAt = now.minusMinutes(random.nextInt(60 * 24 * 90));
+                boolean read = random.nextBoolean();
+                // A small share of rows qualifies for each retention job, as in production
+                LocalDateTime readAt = read ? (random.nextInt(100) < 3 ? now.minusDays(60) : now.minusDays(1)) : null;
+                LocalDateTime expiresAt = random.nextInt(100) < 3 ? now.minusDays(1)
+                        : (random.nextInt(100) < 10 ? now.plusDays(7) : null);
+                Long senderId = random.nextInt(100) < 5 ? null : userIds.get(random.nextInt(userIds.size()));
+                rows.add(new Object[] {
+                    recipientId, senderId, "Seeded " + n, "Seeded body",
+                    types[random.nextInt(types.length)].name(), priorities[random.nextInt(priorities.length)].name(),
+                    read, Timestamp.valueOf(createdAt),
+                    readAt != null ? Timestamp.valueOf(readAt) : null,
+                    expiresAt != null ? Timestamp.valueOf(expiresAt) : null
+                });
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO notifications (recipient_id, sender_id, title, message, type, priority, is_read,
+                created_at, read_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, rows);
+        jdbcTemplate.execute("ANALYZE TABLE notifications");
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.update("""
+            DELETE FROM notifications WHERE recipient_id IN (SELECT id FROM users WHERE username LIKE ?)
+                OR sender_id IN (SELECT id FROM users WHERE username LIKE ?)
+            """, USER_PREFIX + "%", USER_PREFIX + "%");
+        jdbcTemplate.update("""
+            DELETE FROM notification_counters WHERE user_id IN (SELECT id FROM users WHERE username LIKE ?)
+            """, USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+        userIds.clear();
+    }
+
+    @Test
+    void notificationQueriesDoNotScanNotificationsTable() {
+        Long userId = userIds.get(USERS / 2);
+        Long otherUserId = userIds.get(USERS / 3);
+        User user = userRepository.findById(userId).orElseThrow();
+        User sender = userRepository.findById(otherUserId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        Long notificationId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM notifications WHERE recipient_id = ?", Long.class, userId);
+
+        recorder.recording = true;
+        try {
+            notificationService.getUserNotifications(userId, 0, 20);
+            CursorPage<NotificationResponse> first = notificationService.getUserNotifications(userId, (String) null, 20);
+            notificationService.getUserNotifications(userId, first.getNextCursor(), 20);
+            notificationService.getUnreadNotifications(userId);
+            notificationService.getNotificationSummary(userId);
+            notificationService.getNotification(notificationId, userId);
+            notificationService.getFilteredNotifications(userId, false, Notification.NotificationType.INFO,
+                    Notification.NotificationPriority.NORMAL, 0, 20);
+            notificationService.getFilteredNotifications(userId, null, null, Notification.NotificationPriority.HIGH,
+                    (String) null, 20);
+
+            notificationRepository.findByRecipientOrderByCreatedAtDesc(user, PageRequest.of(0, 20));
+            notificationRepository.findByRecipientAndIsReadFalseOrderByCreatedAtDesc(user);
+            notificationRepository.countByRecipientAndIsReadFalse(user);
+            notificationRepository.findByRecipientAndTypeOrderByCreatedAtDesc(user, Notification.NotificationType.INFO);
+            notificationRepository.findByRecipientAndPriorityOrderByCreatedAtDesc(user, Notification.NotificationPriority.HIGH);
+            notificationRepository.findByRecipientAndIsReadFalseAndPriorityInOrderByCreatedAtDesc(user,
+                    List.of(Notification.NotificationPriority.HIGH, Notification.NotificationPriority.URGENT));
+            notificationRepository.findByRecipientAndCreatedAtBetweenOrderByCreatedAtDesc(user, now.minusDays(30), now);
+            notificationRepository.findRecentNotifications(user, now.minusDays(7));
+            notificationRepository.findBySenderOrderByCreatedAtDesc(sender);
+            notificationRepository.findBySenderIsNullOrderByCreatedAtDesc();
+            notificationRepository.findExpiredNotifications(now);
+            notificationRepository.findTopByRecipientIdAndGroupKeyAndIsReadFalseOrderByCreatedAtDescIdDesc(
+                    userId, "EMPLOYEE_UPDATE");
+
+            notificationService.markAsRead(notificationId, userId);
+            NotificationBulkRequest byIds = new NotificationBulkRequest();
+            byIds.setIds(List.of(notificationId, notificationId + 1));
+            notificationService.markAsRead(userId, byIds);
+            NotificationBulkRequest byFilter = new NotificationBulkRequest();
+            byFilter.setType(Notification.NotificationType.INFO);
+            byFilter.setCreatedBefore(now.minusDays(7));
+            notificationService.markAsRead(userId, byFilter);
+            notificationService.markAllAsRead(userId);
+            NotificationBulkRequest readLow = new NotificationBulkRequest();
+            readLow.setIsRead(true);
+            readLow.setPriority(Notification.NotificationPriority.LOW);
+            notificationService.deleteNotifications(userId, readLow);
+
+            notificationRetentionService.purgeReadBefore(now.minusDays(30));
+            notificationRetentionService.purgeExpiredBefore(now);
+        } finally {
+            recorder.recording = false;
+        }
+
+        List<String> checked = new ArrayList<>();
+        List<String> fullScans = new ArrayList<>();
+        for (String sql : List.copyOf(recorder.statements)) {
+            Set<String> aliases = notificationsAliases(sql);
+            if (aliases.isEmpty()) {
+                continue;
+            }
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql,
+                    sampleArguments(sql, userId, otherUserId));
+            assertFalse(plan.isEmpty(), "No plan for: " + sql);
+            checked.add(sql);
+            for (Map<String, Object> step : plan) {
+                String table = String.valueOf(step.get("table")).toLowerCase(Locale.ROOT);
+                if (aliases.contains(table) && "ALL".equals(step.get("type"))) {
+                    fullScans.add(sql.strip().replaceAll("\\s+", " "));
+                }
+            }
+        }
+        assertFalse(checked.isEmpty(), "No notification statements were recorded");
+        assertTrue(fullScans.isEmpty(), "Full table scan on notifications for: " + fullScans);
+    }
+
+    // Names EXPLAIN may report the notifications table under in this statement
+    private static Set<String> notificationsAliases(String sql) {
+        Set<String> aliases = new HashSet<>();
+        Matcher matcher = NOTIFICATIONS_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            aliases.add("notifications");
+            String alias = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (!SKIPPED.contains(alias) && !alias.equals("where") && !alias.equals("set")) {
+                aliases.add(alias);
+            }
+        }
+        return aliases;
+    }
+
+    // A plausible value for each placeholder, chosen by the column it is compared with
+    private static Object[] sampleArguments(String sql, Long userId, Long otherUserId) {
+        List<Object> args = new ArrayList<>();
+        String column = "";
+        Matcher matcher = TOKEN.matcher(sql);
+        while (matcher.find()) {
+            String token = matcher.group().toLowerCase(Locale.ROOT);
+            if (!token.equals("?")) {
+                if (!SKIPPED.contains(token)) {
+                    column = token;
+                }
+                continue;
+            }
+            args.add(switch (column) {
+                case "limit" -> 20;
+                case "offset" -> 0;
+                case "recipient_id" -> userId;
+                case "sender_id" -> otherUserId;
+                case "type" -> Notification.NotificationType.INFO.name();
+                case "priority" -> Notification.NotificationPriority.HIGH.name();
+                case "is_read" -> false;
+                case "group_key" -> "EMPLOYEE_UPDATE";
+                default -> column.endsWith("_at") ? Timestamp.valueOf(LocalDateTime.now()) : 1L;
+            });
+        }
+        return args.toArray();
+    }
+
+    private static DataSource recording(DataSource target, StatementRecorder recorder) {
+        Class<?>[] interfaces = target instanceof Closeable
+                ? new Class<?>[] {DataSource.class, Closeable.class}
+                : new Class<?>[] {DataSource.class};
+        return (DataSource) Proxy.newProxyInstance(NotificationQueryPlanTest.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    if (!(result instanceof Connection connection)) {
+                        return result;
+                    }
+                    return Proxy.newProxyInstance(NotificationQueryPlanTest.class.getClassLoader(),
+                            new Class<?>[] {Connection.class}, (p, m, a) -> {
+                                if (m.getName().startsWith("prepare") && a != null && a[0] instanceof String sql) {
+                                    recorder.record(sql);
+                                }
+                                return invoke(connection, m, a);
+                            });
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.ems.ems_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ems.ems_backend.dto.EmployeeSearchHit;
+import com.ems.ems_backend.dto.EmployeeSearchPage;
+import com.ems.ems_backend.event.EmployeeChangedEvent;
+import com.ems.ems_backend.model.Employee;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tokenizing, fuzzy primitives, ranking and write ordering of the in-memory employee search
+ * index, fed through change events without a database.
+ */
+class EmployeeSearchIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSearchIndex(null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxPrefixExpansions", 1000);
+        ReflectionTestUtils.setField(index, "minFuzzyLength", 4);
+    }
+
+    @Test
+    void tokenizeFoldsCaseAndAccentsAndSplitsOnPunctuation() {
+        assertEquals(List.of("jose", "o", "brien", "smith"), EmployeeSearchIndex.tokenize("  José O'Brien-Smith "));
+        assertEquals(List.of("emp", "eng", "007"), EmployeeSearchIndex.tokenize("EMP-ENG-007"));
+        assertEquals(List.of("anna", "example", "com"), EmployeeSearchIndex.tokenize("Anna@Example.com"));
+        assertTrue(EmployeeSearchIndex.tokenize(null).isEmpty());
+        assertTrue(EmployeeSearchIndex.tokenize(" \t").isEmpty());
+    }
+
+    @Test
+    void editDistanceCountsTranspositionsAsOneEditAndStopsPastMax() {
+        assertEquals(0, EmployeeSearchIndex.editDistance("johnson", "johnson", 2));
+        assertEquals(1, EmployeeSearchIndex.editDistance("johnsen", "johnson", 2));
+        assertEquals(1, EmployeeSearchIndex.editDistance("jonhson", "johnson", 2));
+        assertEquals(1, EmployeeSearchIndex.editDistance("johnso", "johnson", 2));
+        assertEquals(3, EmployeeSearchIndex.editDistance("kitten", "sitting", 3));
+        assertEquals(2, EmployeeSearchIndex.editDistance("kitten", "sitting", 1));
+        assertEquals(2, EmployeeSearchIndex.editDistance("ab", "abcdef", 1));
+    }
+
+    @Test
+    void trigramsArePaddedWithBoundaryMarkers() {
+        assertEquals(Set.of("^ab", "ab$"), EmployeeSearchIndex.trigramsOf("ab"));
+        assertEquals(Set.of("^an", "ann", "nna", "na$"), EmployeeSearchIndex.trigramsOf("anna"));
+    }
+
+    @Test
+    void prefixMatchesEveryTermStartingWithTheToken() {
+        save(employee(1L, "Maria", "Lopez", "Finance", "Analyst", T0));
+        save(employee(2L, "Mark", "Evans", "Sales", "Manager", T0));
+        save(employee(3L, "Omar", "Haddad", "Sales", "Clerk", T0));
+
+        // The shorter term is covered more by the prefix
+        assertEquals(List.of(2L, 1L), ids("mar"));
+        assertEquals(List.of(2L), ids("mar eva"));
+        assertEquals(List.of(), ids("mar haddad"));
+    }
+
+    @Test
+    void fuzzyMatchesFindTyposIncludingTranspositions() {
+        save(employee(1L, "Lena", "Johnson", "Finance", "Analyst", T0));
+        save(employee(2L, "Paul", "Jensen", "Finance", "Analyst", T0));
+
+        assertEquals(List.of(1L), ids("johnsen"));
+        assertEquals(List.of(1L), ids("jonhson"));
+        // Short tokens are never matched fuzzily
+        assertEquals(List.of(), ids("lea"));
+    }
+
+    @Test
+    void rankingPrefersExactMatchesAndStrongerFields() {
+        save(employee(1L, "Annabel", "Stone", "Finance", "Analyst", T0));
+        save(employee(2L, "Anna", "Reed", "Finance", "Analyst", T0));
+        save(employee(3L, "Carl", "Engel", "Finance", "Analyst", T0));
+        save(employee(4L, "Dora", "Quinn", "Engineering", "Analyst", T0));
+
+        assertEquals(List.of(2L, 1L), ids("anna"));
+        // A name prefix outranks a department prefix
+        assertEquals(List.of(3L, 4L), ids("eng"));
+        List<EmployeeSearchHit> hits = index.search("eng", PageRequest.of(0, 10)).getContent();
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    void pagesAreCutFromTheRankedMatches() {
+        for (long id = 1; id <= 25; id++) {
+            save(employee(id, "Sam", "Lee" + id, "Finance", "Analyst", T0));
+        }
+        assertEquals(25, index.search("sam", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(List.of(21L, 22L, 23L, 24L, 25L),
+                index.search("sam", PageRequest.of(2, 10)).getContent().stream().map(EmployeeSearchHit::getId).toList());
+    }
+
+    @Test
+    void widePrefixesReadTheBestCoveredTermsAndReportTruncation() {
+        ReflectionTestUtils.setField(index, "maxPrefixExpansions", 3);
+        for (long id = 1; id <= 12; id++) {
+            save(employee(id, "Sam", "Lee", "Finance", "Analyst", T0));
+        }
+
+        // emp1 to emp9 are shorter, so better covered, than emp10 to emp12
+        EmployeeSearchPage wide = (EmployeeSearchPage) index.search("emp", PageRequest.of(0, 50));
+        assertTrue(wide.isTruncated());
+        assertEquals(List.of(1L, 2L, 3L), wide.getContent().stream().map(EmployeeSearchHit::getId).toList());
+
+        EmployeeSearchPage narrow = (EmployeeSearchPage) index.search("sam emp5", PageRequest.of(0, 50));
+        assertFalse(narrow.isTruncated());
+        assertEquals(Long.valueOf(5), narrow.getContent().get(0).getId());
+        assertEquals(12, index.search("sam", PageRequest.of(0, 5)).getTotalElements());
+    }
+
+    @Test
+    void olderSnapshotsNeverReplaceNewerOnes() {
+        save(employee(1L, "Nina", "Patel", "Finance", "Manager", T0.plusMinutes(10)));
+        save(employee(1L, "Nina", "Patel", "Finance", "Intern", T0));
+
+        assertEquals(List.of(1L), ids("manager"));
+        assertEquals(List.of(), ids("intern"));
+
+        save(employee(1L, "Nina", "Patel", "Finance", "Director", T0.plusMinutes(20)));
+        assertEquals(List.of(1L), ids("director"));
+        assertEquals(List.of(), ids("manager"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void deletedEmployeesLeaveTheIndex() {
+        Employee employee = employee(1L, "Omar", "Haddad", "Sales", "Clerk", T0);
+        save(employee);
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(employee));
+
+        assertEquals(List.of(), ids("omar"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void searchesOverOneHundredThousandEmployeesStayUnderTenMillisecondsAtP99() {
+        String[] first = {"Anna", "Omar", "Lena", "Mark", "Maria", "Paul", "Nina", "Carl", "Dora", "Samir", "Yuki", "Olga"};
+        String[] last = {"Johnson", "Haddad", "Patel", "Nguyen", "Schmidt", "Garcia", "Kowalski", "Okafor", "Rossi", "Tanaka"};
+        String[] departments = {"Engineering", "Finance", "Sales", "Marketing", "Operations", "Human Resources"};
+        String[] positions = {"Analyst", "Engineer", "Manager", "Director", "Clerk", "Consultant"};
+        Random random = new Random(7);
+        for (long id = 1; id <= 100_000; id++) {
+            save(employee(id, first[random.nextInt(first.length)], last[random.nextInt(last.length)] + (id % 500),
+                    departments[random.nextInt(departments.length)], positions[random.nextInt(positions.length)], T0));
+        }
+        String[] queries = {"anna", "joh", "jonhson", "patel eng", "mar fin", "schmidt1", "kowalsky", "director sales",
+                "emp", "okafor ops", "nguyn", "hum res"};
+
+        for (int i = 0; i < 500; i++) {
+            index.search(queries[i % queries.length], PageRequest.of(0, 20));
+        }
+        // Best of several rounds, so a GC pause on a busy build machine does not fail it
+        long p99 = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long[] nanos = new long[1000];
+            for (int i = 0; i < nanos.length; i++) {
+                long start = System.nanoTime();
+                index.search(queries[i % queries.length], PageRequest.of(0, 20));
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            p99 = Math.min(p99, nanos[(int) (nanos.length * 0.99) - 1]);
+        }
+        assertTrue(p99 < 10_000_000, "p99 search latency was " + p99 / 1_000 + " us");
+    }
+
+    private void save(Employee employee) {
+        index.onEmployeeChanged(EmployeeChangedEvent.saved(employee));
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, PageRequest.of(0, 50)).getContent().stream()
+                .map(EmployeeSearchHit::getId)
+                .toList();
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String department, String position,
+            LocalDateTime updatedAt) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmployeeId("EMP" + id);
+        employee.setEmail(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com");
+        employee.setDepartment(department);
+        employee.setPosition(position);
+        employee.setStatus(Employee.Status.ACTIVE);
+        employee.setUpdatedAt(updatedAt);
+        return employee;
+    }
+}
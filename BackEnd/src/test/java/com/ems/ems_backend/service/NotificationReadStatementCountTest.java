@@ -0,0 +1,152 @@
+package com.ems.ems_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ems.ems_backend.dto.CursorPage;
+import com.ems.ems_backend.dto.NotificationResponse;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inbox reads must cost a fixed number of statements per page regardless of page size:
+ * the user check plus one projection query (and the count query for offset paging).
+ * Seeded rows mix senders, system notifications and shared message bodies so any lazy
+ * association touched while building the response would show up as extra statements.
+ * The inbox cache is off so every call measures the database path. Runs against the
+ * throwaway {@code ems_test} schema, since clean-up deletes notifications and users.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "notification.inbox-cache.enabled=false"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationReadStatementCountTest {
+
+    private static final String USER_PREFIX = "stmt-test-";
+    private static final String MESSAGE_TITLE = "stmt-test shared";
+    private static final int NOTIFICATIONS = 60;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long recipientId;
+
+    @BeforeAll
+    void seed() {
+        cleanup();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime now = LocalDateTime.now();
+        for (String name : List.of("recipient", "sender-a", "sender-b")) {
+            jdbcTemplate.update("""
+                INSERT INTO users (username, email, password, role, account_non_expired, account_non_locked,
+                    credentials_non_expired, enabled, created_at, updated_at)
+                VALUES (?, ?, 'x', 'EMPLOYEE', true, true, true, true, ?, ?)
+                """, USER_PREFIX + name, USER_PREFIX + name + "@example.com", Timestamp.valueOf(now), Timestamp.valueOf(now));
+        }
+        recipientId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class,
+                USER_PREFIX + "recipient");
+        List<Long> senders = jdbcTemplate.queryForList("SELECT id FROM users WHERE username IN (?, ?)", Long.class,
+                USER_PREFIX + "sender-a", USER_PREFIX + "sender-b");
+        jdbcTemplate.update("INSERT INTO notification_message (title, message, created_at) VALUES (?, 'Shared body', ?)",
+                MESSAGE_TITLE, Timestamp.valueOf(now));
+        Long messageId = jdbcTemplate.queryForObject("SELECT id FROM notification_message WHERE title = ?", Long.class,
+                MESSAGE_TITLE);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            boolean shared = i % 3 == 0;
+            rows.add(new Object[] {
+                recipientId, i % 4 == 0 ? null : senders.get(i % senders.size()),
+                shared ? null : "Inline " + i, shared ? null : "Inline body",
+                shared ? messageId : null, i % 2 == 0, Timestamp.valueOf(now.minusMinutes(i))
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO notifications (recipient_id, sender_id, title, message, message_id, type, priority, is_read,
+                created_at, group_count)
+            VALUES (?, ?, ?, ?, ?, 'INFO', 'NORMAL', ?, ?, 1)
+            """, rows);
+    }
+
+    @AfterAll
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM notifications WHERE recipient_id IN (SELECT id FROM users WHERE username LIKE ?)",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM notification_message WHERE title = ?", MESSAGE_TITLE);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics.clear();
+    }
+
+    @Test
+    void cursorPageIsOneQueryPlusUserCheck() {
+        for (int size : new int[] {5, 50}) {
+            statistics.clear();
+            CursorPage<NotificationResponse> page = notificationService.getUserNotifications(recipientId, null, size);
+            assertEquals(size, page.getContent().size());
+            assertEquals(2, statistics.getPrepareStatementCount(), "statements for cursor page of " + size);
+            assertEquals(0, statistics.getEntityLoadCount(), "entities loaded for cursor page of " + size);
+        }
+    }
+
+    @Test
+    void offsetPageAddsOnlyTheCountQuery() {
+        for (int size : new int[] {5, 50}) {
+            statistics.clear();
+            notificationService.getUserNotifications(recipientId, 0, size);
+            assertEquals(3, statistics.getPrepareStatementCount(), "statements for offset page of " + size);
+            assertEquals(0, statistics.getEntityLoadCount(), "entities loaded for offset page of " + size);
+        }
+    }
+
+    @Test
+    void unreadAndFilteredReadsDoNotHydrateEntities() {
+        List<NotificationResponse> unread = notificationService.getUnreadNotifications(recipientId);
+        assertEquals(NOTIFICATIONS / 2, unread.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        notificationService.getFilteredNotifications(recipientId, false, null, null, null, 20);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void sharedBodiesAndSenderNamesComeFromTheJoin() {
+        List<NotificationResponse> content = notificationService.getUserNotifications(recipientId, null, NOTIFICATIONS)
+                .getContent();
+        // Rows are newest first, so index i is the i-th seeded row
+        assertEquals("Shared body", content.get(0).getMessage());
+        assertEquals("System", content.get(0).getSenderName());
+        assertEquals("Inline 1", content.get(1).getTitle());
+        assertEquals(USER_PREFIX + "recipient", content.get(1).getRecipientName());
+    }
+}